@@ -0,0 +1,79 @@
+package net.junitpractice.springboottesting.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.junitpractice.springboottesting.controller.EmployeeController;
+import net.junitpractice.springboottesting.model.Employee;
+import net.junitpractice.springboottesting.service.impl.EmployeeServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+//dispatch cost of EmployeeController through the mvc stack, handler mapping, argument resolution and json conversion
+//the service runs against an in memory repository so no database time is included
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeControllerBenchmark {
+
+    private final AtomicLong emails = new AtomicLong();
+    private MockMvc mockMvc;
+    private ObjectMapper objectMapper;
+    private long employeeId;
+    private byte[] updateBody;
+
+    @Setup
+    public void setup() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        EmployeeServiceImpl employeeService = new EmployeeServiceImpl(InMemoryEmployeeRepository.create(), null);
+        employeeId = employeeService.saveEmployee(Employee.builder().firstName("Avishkar").lastName("Singh").email("avishkar@gmail.com").build()).getId();
+        mockMvc = MockMvcBuilders.standaloneSetup(new EmployeeController(employeeService, objectMapper))
+                .setMessageConverters(new StringHttpMessageConverter(), new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+        updateBody = objectMapper.writeValueAsBytes(Employee.builder().firstName("Ram").lastName("Jadhav").email("avishkar@gmail.com").build());
+    }
+
+    @Benchmark
+    public MvcResult getEmployeeById() throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/{id}", employeeId)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult createEmployee() throws Exception {
+        byte[] body = objectMapper.writeValueAsBytes(Employee.builder()
+                .firstName("Rahul")
+                .lastName("Dev")
+                .email("employee" + emails.incrementAndGet() + "@gmail.com")
+                .build());
+        return mockMvc.perform(MockMvcRequestBuilders.post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult updateEmployee() throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.put("/api/employees/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(updateBody)).andReturn();
+    }
+}
@@ -0,0 +1,105 @@
+package net.junitpractice.springboottesting.benchmark;
+
+import net.junitpractice.springboottesting.SpringBootTestingApplication;
+import net.junitpractice.springboottesting.integration.AbstractContainerBaseTest;
+import net.junitpractice.springboottesting.model.Employee;
+import net.junitpractice.springboottesting.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+//the native name queries and a batched insert on a real mysql, with the default settings vs the prod profile itself, so the
+//numbers follow application-prod.properties as it changes. for these queries what counts there is the driver settings
+//(prepared statement caching and rewriteBatchedStatements), needs docker for the testcontainers mysql
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeDriverTuningBenchmark {
+
+    @Param({"10000"})
+    int rows;
+
+    @Param({"false", "true"})
+    boolean tunedDriver;
+
+    private MySQLContainer<?> mysql;
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+    private final AtomicLong inserted = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        mysql = new MySQLContainer<>(AbstractContainerBaseTest.MYSQL_IMAGE);
+        mysql.start();
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + mysql.getJdbcUrl(),
+                "--spring.datasource.username=" + mysql.getUsername(),
+                "--spring.datasource.password=" + mysql.getPassword(),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"));
+        if (tunedDriver) {
+            args.add("--spring.profiles.active=prod");
+        }
+        context = new SpringApplicationBuilder(SpringBootTestingApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        List<Employee> employees = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            employees.add(Employee.builder().firstName("First" + i).lastName("Last" + i).email("employee" + i + "@gmail.com").build());
+        }
+        employeeRepository.saveAll(employees);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        mysql.stop();
+    }
+
+    @Benchmark
+    public Employee findByNativeSQL() {
+        int i = ThreadLocalRandom.current().nextInt(rows);
+        return employeeRepository.findByNativeSQL("First" + i, "Last" + i);
+    }
+
+    @Benchmark
+    public Employee findByNativeSQLWithNamedParams() {
+        int i = ThreadLocalRandom.current().nextInt(rows);
+        return employeeRepository.findByNativeSQLWithNamedParams("First" + i, "Last" + i);
+    }
+
+    //one jdbc batch of batch-size inserts, a single multi row insert with rewriteBatchedStatements
+    @Benchmark
+    public List<Employee> saveBatch() {
+        List<Employee> employees = new ArrayList<>(50);
+        for (int i = 0; i < 50; i++) {
+            long n = inserted.incrementAndGet();
+            employees.add(Employee.builder().firstName("Batch" + n).lastName("Insert").email("batch" + n + "@gmail.com").build());
+        }
+        return employeeRepository.saveAll(employees);
+    }
+}
@@ -0,0 +1,107 @@
+package net.junitpractice.springboottesting.benchmark;
+
+import net.junitpractice.springboottesting.SpringBootTestingApplication;
+import net.junitpractice.springboottesting.model.Employee;
+import net.junitpractice.springboottesting.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+//the four custom name queries of EmployeeRepository through the real spring data + hibernate stack on an embedded h2 database
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeQueryBenchmark {
+
+    @Param({"10000"})
+    int rows;
+
+    //false runs the jpql name lookups straight against the db, true through the hibernate query cache
+    @Param({"false", "true"})
+    boolean queryCache;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start("--spring.jpa.properties.hibernate.cache.use_query_cache=" + queryCache);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        List<Employee> employees = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            employees.add(Employee.builder().firstName("First" + i).lastName("Last" + i).email("employee" + i + "@gmail.com").build());
+        }
+        employeeRepository.saveAll(employees);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee findByJPQL() {
+        int i = ThreadLocalRandom.current().nextInt(rows);
+        return employeeRepository.findByJPQL("First" + i, "Last" + i);
+    }
+
+    @Benchmark
+    public Employee findByJPQLNamedParams() {
+        int i = ThreadLocalRandom.current().nextInt(rows);
+        return employeeRepository.findByJPQLNamedpaams("First" + i, "Last" + i);
+    }
+
+    @Benchmark
+    public Employee findByNativeSQL() {
+        int i = ThreadLocalRandom.current().nextInt(rows);
+        return employeeRepository.findByNativeSQL("First" + i, "Last" + i);
+    }
+
+    @Benchmark
+    public Employee findByNativeSQLWithNamedParams() {
+        int i = ThreadLocalRandom.current().nextInt(rows);
+        return employeeRepository.findByNativeSQLWithNamedParams("First" + i, "Last" + i);
+    }
+
+    //starts the application without a web server against a private in-memory h2 database
+    //passed as command line args because those win over application.properties, default properties don't
+    static final class BenchmarkApplication {
+        static ConfigurableApplicationContext start(String... extraArgs) {
+            List<String> args = new ArrayList<>(List.of(
+                    "--spring.datasource.url=jdbc:h2:mem:benchmark" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                    //the migrations are written for mysql, let hibernate build the h2 schema from the entities instead
+                    "--spring.flyway.enabled=false",
+                    "--spring.jpa.hibernate.ddl-auto=create-drop",
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.root=WARN"));
+            args.addAll(List.of(extraArgs));
+            return new SpringApplicationBuilder(SpringBootTestingApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .run(args.toArray(String[]::new));
+        }
+    }
+}
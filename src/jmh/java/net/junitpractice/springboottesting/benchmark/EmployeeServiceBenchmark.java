@@ -0,0 +1,55 @@
+package net.junitpractice.springboottesting.benchmark;
+
+import net.junitpractice.springboottesting.exception.ResourceNotFoundException;
+import net.junitpractice.springboottesting.model.Employee;
+import net.junitpractice.springboottesting.service.impl.EmployeeServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+//saveEmployee logic on its own, the repository is in memory so only the service code is measured
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    private final AtomicLong emails = new AtomicLong();
+    private EmployeeServiceImpl employeeService;
+
+    @Setup
+    public void setup() {
+        employeeService = new EmployeeServiceImpl(InMemoryEmployeeRepository.create(), null);
+        employeeService.saveEmployee(Employee.builder().firstName("Avishkar").lastName("Singh").email("avishkar@gmail.com").build());
+    }
+
+    @Benchmark
+    public Employee saveNewEmployee() {
+        return employeeService.saveEmployee(Employee.builder()
+                .firstName("Rahul")
+                .lastName("Dev")
+                .email("employee" + emails.incrementAndGet() + "@gmail.com")
+                .build());
+    }
+
+    @Benchmark
+    public Object saveDuplicateEmployee() {
+        try {
+            return employeeService.saveEmployee(Employee.builder().firstName("Avi").lastName("Singh").email("avishkar@gmail.com").build());
+        } catch (ResourceNotFoundException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package net.junitpractice.springboottesting.benchmark;
+
+import net.junitpractice.springboottesting.model.Employee;
+import net.junitpractice.springboottesting.repository.EmployeeRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+//map backed EmployeeRepository for benchmarking service logic without a database or mockito in the measured path
+//only the methods the benchmarks call are implemented, anything else throws
+final class InMemoryEmployeeRepository {
+
+    private final Map<Long, Employee> employees = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByEmail = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    static EmployeeRepository create() {
+        InMemoryEmployeeRepository repository = new InMemoryEmployeeRepository();
+        return (EmployeeRepository) Proxy.newProxyInstance(EmployeeRepository.class.getClassLoader(),
+                new Class<?>[]{EmployeeRepository.class}, (proxy, method, args) -> repository.invoke(method, args));
+    }
+
+    private Object invoke(Method method, Object[] args) {
+        switch (method.getName()) {
+            case "save":
+            case "saveAndFlush":
+                return save((Employee) args[0]);
+            case "saveAll":
+                List<Employee> saved = new ArrayList<>();
+                for (Object employee : (Iterable<?>) args[0]) {
+                    saved.add(save((Employee) employee));
+                }
+                return saved;
+            case "findById":
+                return Optional.ofNullable(employees.get((Long) args[0]));
+            case "findByEmail":
+                return Optional.ofNullable(idsByEmail.get(normalize((String) args[0]))).map(employees::get);
+            case "findExistingEmails":
+                return ((Collection<?>) args[0]).stream()
+                        .map(email -> (String) email)
+                        .filter(email -> idsByEmail.containsKey(normalize(email)))
+                        .collect(Collectors.toSet());
+            case "findAll":
+                return new ArrayList<>(employees.values());
+            case "count":
+                return (long) employees.size();
+            case "deleteAll":
+                employees.clear();
+                idsByEmail.clear();
+                return null;
+            case "hashCode":
+                return System.identityHashCode(this);
+            case "equals":
+                return false;
+            case "toString":
+                return "InMemoryEmployeeRepository";
+            default:
+                throw new UnsupportedOperationException(method.toString());
+        }
+    }
+
+    //behaves like the uk_employees_email unique index, a duplicate email fails the insert
+    private Employee save(Employee employee) {
+        if (employee.getId() == 0) {
+            employee.setId(sequence.incrementAndGet());
+        }
+        Long existingId = idsByEmail.putIfAbsent(normalize(employee.getEmail()), employee.getId());
+        if (existingId != null && existingId != employee.getId()) {
+            throw new DataIntegrityViolationException("Duplicate entry",
+                    new ConstraintViolationException("Duplicate entry", null, "employees." + Employee.EMAIL_UNIQUE_INDEX));
+        }
+        employees.put(employee.getId(), employee);
+        return employee;
+    }
+
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,106 @@
+package net.junitpractice.springboottesting.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//time from process start to "Started SpringBootTestingApplication" for the plain jvm, the aot + cds build and the native image
+//each mode starts the real app against the database in application.properties, build the artifacts first:
+//  mvn -Paot package                  target/classes with aot code, target/lib and target/application.jsa
+//  mvn -Pnative native:compile        target/spring-boot-testing
+//then: mvn -Pjmh verify -DskipTests -Djmh.args="StartupBenchmark"
+//add -p mode=jvm to run a single mode, extra app args go in with -jvmArgsAppend -Dstartup.args=...
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final String MAIN_CLASS = "net.junitpractice.springboottesting.SpringBootTestingApplication";
+    private static final String STARTED = "Started SpringBootTestingApplication";
+
+    @Param({"jvm", "aot-cds", "native"})
+    String mode;
+
+    private Process process;
+
+    @Benchmark
+    public void startUntilReady() throws IOException {
+        process = new ProcessBuilder(command()).redirectErrorStream(true).start();
+        BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line;
+        while ((line = output.readLine()) != null) {
+            if (line.contains(STARTED)) {
+                return;
+            }
+        }
+        throw new IllegalStateException(mode + " exited before it was ready, exit code " + process.onExit().join().exitValue());
+    }
+
+    //shutdown is not part of the startup time
+    @TearDown(Level.Invocation)
+    public void stop() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+            process = null;
+        }
+    }
+
+    private List<String> command() {
+        Path target = Path.of("target");
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> command = new ArrayList<>();
+        switch (mode) {
+            //same classpath as aot-cds, the aot classes are only used with spring.aot.enabled
+            case "jvm" -> command.addAll(List.of(java, "-cp", classpath(target), MAIN_CLASS));
+            case "aot-cds" -> command.addAll(List.of(java,
+                    "-XX:SharedArchiveFile=" + require(target.resolve("application.jsa"), "mvn -Paot package"),
+                    "-Dspring.aot.enabled=true",
+                    "-cp", classpath(target), MAIN_CLASS));
+            case "native" -> command.add(require(target.resolve("spring-boot-testing"), "mvn -Pnative native:compile").toString());
+            default -> throw new IllegalArgumentException("Unknown mode " + mode);
+        }
+        command.add("--server.port=0");
+        String extraArgs = System.getProperty("startup.args", "").trim();
+        if (!extraArgs.isEmpty()) {
+            command.addAll(List.of(extraArgs.split("\\s+")));
+        }
+        return command;
+    }
+
+    private String classpath(Path target) {
+        return target.resolve("classes") + File.pathSeparator + require(target.resolve("lib"), "mvn -Paot package") + File.separator + "*";
+    }
+
+    private Path require(Path path, String buildWith) {
+        if (!Files.exists(path)) {
+            throw new IllegalStateException(path + " is missing, build it with " + buildWith);
+        }
+        return path;
+    }
+}
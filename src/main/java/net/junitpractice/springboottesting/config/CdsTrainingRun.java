@@ -0,0 +1,51 @@
+package net.junitpractice.springboottesting.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+
+//with -Demployee.cds.training-run=true the app exits as soon as it is ready, so a run with -XX:ArchiveClassesAtExit
+//dumps every class loaded during startup into the cds archive, see the aot profile in pom.xml
+//checked at runtime instead of with @ConditionalOnProperty because an aot build freezes conditions at build time
+//the training run never touches the database: flyway is skipped here, the pom turns off hibernate's schema validation and
+//metadata lookup, and ordering first exits before the ready listeners that load the search index and the email filter
+@Configuration(proxyBeanMethods = false)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CdsTrainingRun implements ApplicationListener<ApplicationReadyEvent> {
+
+    static final String TRAINING_RUN_PROPERTY = "employee.cds.training-run";
+
+    private static final Logger log = LoggerFactory.getLogger(CdsTrainingRun.class);
+
+    //the training run runs at package time against whatever spring.datasource.url points at, it must not migrate that database
+    @Bean
+    FlywayMigrationStrategy flywayMigrationStrategy(Environment environment) {
+        return flyway -> {
+            if (isTrainingRun(environment)) {
+                log.info("CDS training run, skipping the flyway migrations");
+            } else {
+                flyway.migrate();
+            }
+        };
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (isTrainingRun(event.getApplicationContext().getEnvironment())) {
+            log.info("CDS training run finished startup, exiting");
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+    private static boolean isTrainingRun(Environment environment) {
+        return environment.getProperty(TRAINING_RUN_PROPERTY, Boolean.class, false);
+    }
+}
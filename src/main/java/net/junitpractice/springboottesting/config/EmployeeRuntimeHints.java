@@ -0,0 +1,32 @@
+package net.junitpractice.springboottesting.config;
+
+import net.junitpractice.springboottesting.dto.EmployeeChangeEvent;
+import net.junitpractice.springboottesting.dto.EmployeeListVersion;
+import net.junitpractice.springboottesting.dto.EmployeePatch;
+import net.junitpractice.springboottesting.dto.EmployeeSummary;
+import net.junitpractice.springboottesting.model.Employee;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+
+//what a native image can't find on its own, spring aot already covers the entity, the repositories and the @RequestBody/@ResponseBody types
+public class EmployeeRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final String CAFFEINE_CACHING_PROVIDER = "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        //hibernate instantiates these through their constructors for the "select new ..." queries in EmployeeRepository
+        hints.reflection().registerType(EmployeeSummary.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        hints.reflection().registerType(EmployeeListVersion.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        //the bulk create and the ndjson streams read and write Employee with the ObjectMapper directly,
+        //jackson goes through the lombok generated no-arg constructor, getters and setters
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), Employee.class);
+        //same for the change stream batches sent through SseEmitter and the patches the outbox stores as json
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), EmployeeChangeEvent.class, EmployeePatch.class);
+        //hibernate.javax.cache.provider is loaded by name, its region settings come from application.conf
+        hints.reflection().registerTypeIfPresent(classLoader, CAFFEINE_CACHING_PROVIDER, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.resources().registerPattern("application.conf");
+    }
+}
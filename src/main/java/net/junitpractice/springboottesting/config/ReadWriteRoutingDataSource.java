@@ -0,0 +1,45 @@
+package net.junitpractice.springboottesting.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+//sends @Transactional(readOnly = true) work to the replica pool and everything else to the primary
+//has to sit behind a LazyConnectionDataSourceProxy, the transaction is only marked read-only after the jpa transaction manager
+//asked for a connection, the lazy proxy delays the real lookup until the first statement
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    //read-your-writes state of the current http request, null outside of one, see ReadYourWritesFilter
+    private static final ThreadLocal<boolean[]> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    //pinned requests read from the primary, the client wrote recently and the replica may not have caught up yet
+    static void beginRequest(boolean pinnedToPrimary) {
+        PINNED_TO_PRIMARY.set(new boolean[]{pinnedToPrimary});
+    }
+
+    static void endRequest() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean[] pinned = PINNED_TO_PRIMARY.get();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (pinned != null) {
+                pinned[0] = true;       //reads later in the same request must see this write
+            }
+            return Route.PRIMARY;
+        }
+        return pinned != null && pinned[0] ? Route.PRIMARY : Route.REPLICA;
+    }
+}
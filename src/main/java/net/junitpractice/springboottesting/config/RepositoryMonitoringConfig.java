@@ -0,0 +1,33 @@
+package net.junitpractice.springboottesting.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+@Configuration
+public class RepositoryMonitoringConfig {
+
+    @Bean
+    public SlowRepositoryCallLogger slowRepositoryCallLogger(@Value("${employee.slow-query.threshold-ms:500}") long thresholdMillis) {
+        return new SlowRepositoryCallLogger(thresholdMillis);
+    }
+
+    //hooks the logger into every repository the same way spring boot adds its spring.data.repository.invocations timer
+    //static and lazy so registering the post processor doesn't create the logger bean too early
+    @Bean
+    public static BeanPostProcessor slowRepositoryCallLoggerPostProcessor(ObjectProvider<SlowRepositoryCallLogger> slowRepositoryCallLogger) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+                    repositoryFactoryBean.addRepositoryFactoryCustomizer(
+                            repositoryFactory -> repositoryFactory.addInvocationListener(slowRepositoryCallLogger.getObject()));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package net.junitpractice.springboottesting.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+
+import java.util.concurrent.TimeUnit;
+
+//logs repository calls slower than employee.slow-query.threshold-ms with the repository method they came from,
+//hibernate logs the sql of the same slow statements on org.hibernate.SQL_SLOW
+public class SlowRepositoryCallLogger implements RepositoryMethodInvocationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowRepositoryCallLogger.class);
+
+    private final long thresholdMillis;
+
+    public SlowRepositoryCallLogger(long thresholdMillis) {
+        this.thresholdMillis = thresholdMillis;
+    }
+
+    @Override
+    public void afterInvocation(RepositoryMethodInvocation invocation) {
+        long millis = invocation.getDuration(TimeUnit.MILLISECONDS);
+        if (millis >= thresholdMillis) {
+            log.warn("Slow repository call {}.{} took {} ms ({})", invocation.getRepositoryInterface().getSimpleName(),
+                    invocation.getMethod().getName(), millis, invocation.getResult().getState());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package net.junitpractice.springboottesting.controller;
+
+import net.junitpractice.springboottesting.dto.EmployeeChangeEvent;
+import net.junitpractice.springboottesting.service.impl.EmployeeChangeRelay;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+//employee changes as server sent events, for consumers that would otherwise poll GET /api/employees. only there with employee.outbox.enabled=true
+//every event is a batch of changes and its id is the offset of the last one, reconnecting with Last-Event-ID (browsers do that on their own)
+//or ?after= resumes right after it. without either the stream starts at the oldest event still in the outbox
+@RestController
+@Profile("!reactive")
+@ConditionalOnProperty(name = "employee.outbox.enabled", havingValue = "true")
+@RequestMapping("/api/employees/changes")
+public class EmployeeChangeController {
+    static final String CHANGES_EVENT = "employee-changes";
+    static final String RESYNC_EVENT = "resync";
+
+    private final EmployeeChangeRelay changeRelay;
+
+    private final Duration streamTimeout;
+
+    public EmployeeChangeController(EmployeeChangeRelay changeRelay,
+                                    @Value("${employee.outbox.stream-timeout:30m}") Duration streamTimeout) {
+        this.changeRelay = changeRelay;
+        this.streamTimeout = streamTimeout;
+    }
+
+    //the header wins over the parameter, it is what the client really received last
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId,
+                                    @RequestParam(name = "after", required = false) Long after) throws IOException {
+        long offset = Math.max(0L, lastEventId != null ? lastEventId : after != null ? after : 0L);
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());      //the client reconnects from its last id once it times out
+        if (changeRelay.isBehindRetention(offset)) {
+            //the stream still continues from the oldest event that is left
+            emitter.send(SseEmitter.event().name(RESYNC_EVENT)
+                    .data("Events after offset " + offset + " were purged, read GET /api/employees again"));
+        }
+        EmployeeChangeRelay.Subscription subscription = changeRelay.subscribe(offset, new EmployeeChangeRelay.Listener() {
+            @Override
+            public void onEvents(List<EmployeeChangeEvent> events) throws IOException {
+                emitter.send(SseEmitter.event()
+                        .name(CHANGES_EVENT)
+                        .id(Long.toString(events.get(events.size() - 1).offset()))
+                        .data(events, MediaType.APPLICATION_JSON));
+            }
+
+            //the client fell too far behind or its connection broke, it reconnects with the last id it got
+            @Override
+            public void onDropped() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
+    }
+}
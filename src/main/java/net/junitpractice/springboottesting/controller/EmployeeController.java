@@ -1,20 +1,48 @@
 package net.junitpractice.springboottesting.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import net.junitpractice.springboottesting.dto.EmployeeBatchGetResult;
+import net.junitpractice.springboottesting.dto.EmployeeBulkDeleteResult;
+import net.junitpractice.springboottesting.dto.EmployeeBulkResult;
+import net.junitpractice.springboottesting.dto.EmployeeListVersion;
+import net.junitpractice.springboottesting.dto.EmployeePage;
+import net.junitpractice.springboottesting.dto.EmployeePatch;
+import net.junitpractice.springboottesting.dto.EmployeeSummary;
+import net.junitpractice.springboottesting.dto.EmployeeUpdate;
 import net.junitpractice.springboottesting.model.Employee;
 import net.junitpractice.springboottesting.service.EmployeeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 @RestController
+@Profile("!reactive")      //the reactive profile is read-only, ReactiveEmployeeController serves the read paths and none of the writes
 @RequestMapping("/api/employees")
 public class EmployeeController {
     private EmployeeService employeeService;
 
-    public EmployeeController(EmployeeService employeeService) {
+    private ObjectMapper objectMapper;
+
+    public EmployeeController(EmployeeService employeeService, ObjectMapper objectMapper) {
         this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -23,31 +51,182 @@ public class EmployeeController {
         return employeeService.saveEmployee(employee);
     }
 
+    //bulk create from a json array, every row gets a result in the same order as the request
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<EmployeeBulkResult>> createEmployees(@RequestBody List<Employee> employees){
+        return ResponseEntity.ok(employeeService.saveAllEmployees(employees.iterator()));
+    }
+    //same bulk create but reads newline delimited json lazily so the request body is never held in memory as a list
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<EmployeeBulkResult>> createEmployeesFromStream(InputStream body) throws IOException{
+        try (MappingIterator<Employee> employees = objectMapper.readerFor(Employee.class).readValues(body)) {
+            return ResponseEntity.ok(employeeService.saveAllEmployees(employees));
+        }
+    }
+
+    //conditional GET, the etag comes from one aggregate query so an unchanged list costs no findAll and no serialization
     @GetMapping
-    public List<Employee> getAllEmployee(){
+    public List<Employee> getAllEmployee(WebRequest webRequest){
+        if (webRequest.checkNotModified(listETag(employeeService.getEmployeeListVersion()))) {
+            return null;        //spring already set 304 and the ETag header
+        }
         return employeeService.getAllEmployees();
     }
+    //same list as id, first name, last name and email only, read straight into dtos without loading entities
+    @GetMapping("/summaries")
+    public List<EmployeeSummary> getAllEmployeeSummaries(){
+        return employeeService.getAllEmployeeSummaries();
+    }
+    //keyset paginated list, pass the nextCursor of the previous page to get the next one
+    @GetMapping("/page")
+    public ResponseEntity<EmployeePage> getEmployeesPage(@RequestParam(value = "cursor", required = false) String cursor,
+                                                         @RequestParam(value = "size", defaultValue = "20") int size){
+        return ResponseEntity.ok(employeeService.getEmployeesPage(cursor, size));
+    }
+    //prefix search over first name, last name and email for autocomplete, best matches first
+    @GetMapping("/search")
+    public ResponseEntity<List<EmployeeSummary>> searchEmployees(@RequestParam("q") String query,
+                                                                   @RequestParam(value = "limit", defaultValue = "10") int limit){
+        return ResponseEntity.ok(employeeService.searchEmployees(query, limit));
+    }
+    //streams every employee as newline delimited json, rows are written as they come off the db cursor
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees(){
+        return ndjson(employeeService::streamAllEmployees);
+    }
+    //everyone with that name, keyset paginated like /page
+    @GetMapping("/by-name")
+    public ResponseEntity<EmployeePage> getEmployeesByName(@RequestParam("firstName") String firstName,
+                                                           @RequestParam("lastName") String lastName,
+                                                           @RequestParam(value = "cursor", required = false) String cursor,
+                                                           @RequestParam(value = "size", defaultValue = "20") int size){
+        return ResponseEntity.ok(employeeService.getEmployeesByName(firstName, lastName, cursor, size));
+    }
+    //everyone with that name as newline delimited json, however many match
+    @GetMapping(value = "/by-name/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployeesByName(@RequestParam("firstName") String firstName,
+                                                                       @RequestParam("lastName") String lastName){
+        return ndjson(consumer -> employeeService.streamEmployeesByName(firstName, lastName, consumer));
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<Employee>> source){
+        StreamingResponseBody body = outputStream -> {
+            //don't flush after every row, let the servlet buffer decide when to send a chunk
+            try (SequenceWriter writer = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                source.accept(employee -> {
+                    try {
+                        writer.write(employee);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    //carries the employee version as ETag, a matching If-None-Match is answered with 304 by spring before the body is written
     @GetMapping("/{id}")
     public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") long id){
         return employeeService.getEmployeeById(id)
-                .map(ResponseEntity::ok)        //this will map if employee object exists or not,if it exists then simply return ok()
+                .map(employee -> ResponseEntity.ok().eTag(employeeETag(employee)).body(employee))        //this will map if employee object exists or not,if it exists then simply return ok()
                 .orElseGet(() -> ResponseEntity.notFound().build());    //this means 404 error
     }
+    //many employees in one call, in the order of the ids sent, ids that don't exist are listed in missingIds
+    @PostMapping("/_batch-get")
+    public ResponseEntity<EmployeeBatchGetResult> getEmployeesByIds(@RequestBody List<Long> employeeIds){
+        return ResponseEntity.ok(employeeService.getEmployeesByIds(employeeIds));
+    }
+    //the update only applies to the version the client read, taken from If-Match when sent and from the body otherwise
+    //a stale version is answered with 409 like PATCH. without either, or with If-Match: *, it updates whatever version is current
     @PutMapping("/{id}")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long employeeId,@RequestBody Employee employee){
+    public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long employeeId,
+                                                   @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   @RequestBody EmployeeUpdate employee){
         return employeeService.getEmployeeById(employeeId)
                 .map(savedEmployee -> {
-                   savedEmployee.setFirstName(employee.getFirstName());
-                   savedEmployee.setLastName(employee.getLastName());
-                   savedEmployee.setEmail(employee.getEmail());
-                  Employee updatedEmployee =  employeeService.updateEmployee(savedEmployee);
-                  return new ResponseEntity<>(updatedEmployee,HttpStatus.OK);
+                   Long expectedVersion = ifMatch == null ? employee.version()
+                           : "*".equals(ifMatch.trim()) ? null : versionOf(ifMatch);
+                   if (expectedVersion != null && expectedVersion != savedEmployee.getVersion()) {
+                       throw new ObjectOptimisticLockingFailureException(Employee.class, employeeId);
+                   }
+                   //copy into a new object, savedEmployee can be the instance held by the cache and must not be mutated
+                   Employee changedEmployee = Employee.builder()
+                           .id(savedEmployee.getId())
+                           .firstName(employee.firstName())
+                           .lastName(employee.lastName())
+                           .email(employee.email())
+                           .version(savedEmployee.getVersion())       //hibernate checks it again on merge, a write racing this one still ends in 409
+                           .build();
+                  Employee updatedEmployee =  employeeService.updateEmployee(changedEmployee);
+                  return ResponseEntity.ok().eTag(employeeETag(updatedEmployee)).body(updatedEmployee);
                 })          //if we don't find object of given object then build a object of not found
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchEmployee(@PathVariable("id") long employeeId,@RequestBody EmployeePatch patch){
+        return employeeService.patchEmployee(employeeId, patch)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+    //one DELETE statement, 204 when a row was removed and 404 when there was nothing to delete
     @DeleteMapping("/{id}")
-    public ResponseEntity<String> deleteEmploye(@PathVariable("id") long employeeid){
-        employeeService.deleteEmployeeById(employeeid);
-        return new ResponseEntity<String>("Employee deleted successfully!.",HttpStatus.OK);
+    public ResponseEntity<Void> deleteEmploye(@PathVariable("id") long employeeid){
+        return employeeService.deleteEmployeeById(employeeid)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+    //bulk delete, the ids go to the db as IN-list deletes instead of one request per id
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<EmployeeBulkDeleteResult> deleteEmployees(@RequestBody List<Long> employeeIds){
+        return ResponseEntity.ok(new EmployeeBulkDeleteResult(employeeIds.size(), employeeService.deleteEmployeesByIds(employeeIds)));
+    }
+
+    //strong etag, the version changes on every update of the row
+    static String employeeETag(Employee employee) {
+        return "\"" + employee.getVersion() + "\"";
+    }
+
+    //the version in a strong etag as written by employeeETag
+    static long versionOf(String eTag) {
+        String value = eTag.trim();
+        if (value.length() < 3 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+            throw new IllegalArgumentException("If-Match must be a strong ETag like \"3\", got " + eTag);
+        }
+        try {
+            return Long.parseLong(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match must carry an employee version, got " + eTag);
+        }
+    }
+
+    static String listETag(EmployeeListVersion version) {
+        return "\"" + version.count() + "-" + nullToZero(version.maxId()) + "-" + nullToZero(version.idSum())
+                + "-" + nullToZero(version.versionSum()) + "\"";
+    }
+
+    private static long nullToZero(Long value) {
+        return value == null ? 0L : value;
+    }
+
+    //someone else updated the employee since the client read its version
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(OptimisticLockingFailureException e){
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    //the db didn't answer in time, the client may retry later
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<String> handleQueryTimeout(QueryTimeoutException e){
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+    }
+
+    //bad cursor or other invalid arguments from the client should be a 400 and not a 500
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException e){
+        return ResponseEntity.badRequest().body(e.getMessage());
     }
 }
@@ -0,0 +1,49 @@
+package net.junitpractice.springboottesting.controller;
+
+import net.junitpractice.springboottesting.dto.EmployeeIngestStatus;
+import net.junitpractice.springboottesting.model.Employee;
+import net.junitpractice.springboottesting.service.impl.EmployeeIngestQueue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+//async create, only there with employee.ingest.enabled=true. POST /api/employees stays synchronous either way
+@RestController
+@ConditionalOnProperty(name = "employee.ingest.enabled", havingValue = "true")
+@RequestMapping("/api/employees/ingest")
+public class EmployeeIngestController {
+    private EmployeeIngestQueue ingestQueue;
+
+    public EmployeeIngestController(EmployeeIngestQueue ingestQueue) {
+        this.ingestQueue = ingestQueue;
+    }
+
+    //202 with a tracking id once the employee is queued, 429 when the queue is full
+    @PostMapping
+    public ResponseEntity<?> ingestEmployee(@RequestBody Employee employee){
+        if (isBlank(employee.getFirstName()) || isBlank(employee.getLastName()) || isBlank(employee.getEmail())) {
+            return ResponseEntity.badRequest().body("firstName, lastName and email are required");
+        }
+        return ingestQueue.offer(employee)
+                .<ResponseEntity<?>>map(trackingId -> ResponseEntity.accepted()
+                        .location(URI.create("/api/employees/ingest/" + trackingId))
+                        .body(EmployeeIngestStatus.queued(trackingId)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body("Ingest queue is full, retry later"));
+    }
+    @GetMapping("/{trackingId}")
+    public ResponseEntity<EmployeeIngestStatus> getIngestStatus(@PathVariable("trackingId") String trackingId){
+        return ingestQueue.getStatus(trackingId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());    //unknown or expired tracking id
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
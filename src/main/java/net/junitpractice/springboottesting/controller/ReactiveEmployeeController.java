@@ -0,0 +1,87 @@
+package net.junitpractice.springboottesting.controller;
+
+import net.junitpractice.springboottesting.dto.EmployeeBatchGetResult;
+import net.junitpractice.springboottesting.dto.EmployeePage;
+import net.junitpractice.springboottesting.dto.EmployeeSummary;
+import net.junitpractice.springboottesting.model.Employee;
+import net.junitpractice.springboottesting.service.ReactiveEmployeeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+//read-only employee api on webflux + r2dbc, active with --spring.profiles.active=reactive
+//serves the read paths of EmployeeController with the same response shapes so the two stacks can be compared request for request
+//there are no writes in this profile: POST, PUT, PATCH, DELETE, /bulk, /bulk-delete, /ingest and /changes are only on the servlet stack.
+//GET /api/employees is also never answered with 304 here, the list etag needs the aggregate query only the jpa repository has
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/employees")
+public class ReactiveEmployeeController {
+    //rows requested from the db at a time while streaming, the next batch is only fetched once the client has taken most of this one
+    static final int STREAM_PREFETCH = 256;
+
+    private ReactiveEmployeeService employeeService;
+
+    public ReactiveEmployeeController(ReactiveEmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @GetMapping
+    public Flux<Employee> getAllEmployee(){
+        return employeeService.getAllEmployees();
+    }
+    @GetMapping("/summaries")
+    public Flux<EmployeeSummary> getAllEmployeeSummaries(){
+        return employeeService.getAllEmployeeSummaries();
+    }
+    @GetMapping("/page")
+    public Mono<EmployeePage> getEmployeesPage(@RequestParam(value = "cursor", required = false) String cursor,
+                                               @RequestParam(value = "size", defaultValue = "20") int size){
+        return employeeService.getEmployeesPage(cursor, size);
+    }
+    //always the db prefix query, the in-memory search index is only on the servlet stack
+    @GetMapping("/search")
+    public Flux<EmployeeSummary> searchEmployees(@RequestParam("q") String query,
+                                                 @RequestParam(value = "limit", defaultValue = "10") int limit){
+        return employeeService.searchEmployees(query, limit);
+    }
+    //newline delimited json written as rows arrive, backpressure from the client connection reaches the db cursor
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Employee> streamAllEmployees(){
+        return employeeService.getAllEmployees().limitRate(STREAM_PREFETCH);
+    }
+    @GetMapping("/by-name")
+    public Mono<EmployeePage> getEmployeesByName(@RequestParam("firstName") String firstName,
+                                                 @RequestParam("lastName") String lastName,
+                                                 @RequestParam(value = "cursor", required = false) String cursor,
+                                                 @RequestParam(value = "size", defaultValue = "20") int size){
+        return employeeService.getEmployeesByName(firstName, lastName, cursor, size);
+    }
+    @GetMapping(value = "/by-name/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Employee> streamEmployeesByName(@RequestParam("firstName") String firstName,
+                                                @RequestParam("lastName") String lastName){
+        return employeeService.streamEmployeesByName(firstName, lastName).limitRate(STREAM_PREFETCH);
+    }
+    //same ETag as EmployeeController, webflux answers a matching If-None-Match with 304
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable("id") long id){
+        return employeeService.getEmployeeById(id)
+                .map(employee -> ResponseEntity.ok().eTag(EmployeeController.employeeETag(employee)).body(employee))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+    //many employees in one call, in the order of the ids sent, ids that don't exist are listed in missingIds
+    @PostMapping("/_batch-get")
+    public Mono<EmployeeBatchGetResult> getEmployeesByIds(@RequestBody List<Long> employeeIds){
+        return employeeService.getEmployeesByIds(employeeIds);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException e){
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -0,0 +1,9 @@
+package net.junitpractice.springboottesting.dto;
+
+import net.junitpractice.springboottesting.model.Employee;
+
+import java.util.List;
+
+//response of POST /api/employees/_batch-get, employees in the order of the requested ids and the ids that don't exist
+public record EmployeeBatchGetResult(List<Employee> employees, List<Long> missingIds) {
+}
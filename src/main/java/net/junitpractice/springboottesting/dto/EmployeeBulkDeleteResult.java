@@ -0,0 +1,5 @@
+package net.junitpractice.springboottesting.dto;
+
+//response of POST /api/employees/bulk-delete, ids that didn't exist are simply not counted as deleted
+public record EmployeeBulkDeleteResult(int requested, int deleted) {
+}
@@ -0,0 +1,23 @@
+package net.junitpractice.springboottesting.dto;
+
+//outcome of one row of a bulk create, index is the position of the row in the request
+public record EmployeeBulkResult(int index, String email, Long id, Status status, String message) {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+
+    public static EmployeeBulkResult created(int index, String email, long id) {
+        return new EmployeeBulkResult(index, email, id, Status.CREATED, null);
+    }
+
+    public static EmployeeBulkResult duplicate(int index, String email) {
+        return new EmployeeBulkResult(index, email, null, Status.DUPLICATE, "Employee already exists with given email" + email);
+    }
+
+    public static EmployeeBulkResult invalid(int index, String email, String message) {
+        return new EmployeeBulkResult(index, email, null, Status.INVALID, message);
+    }
+}
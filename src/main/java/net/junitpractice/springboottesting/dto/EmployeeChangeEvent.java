@@ -0,0 +1,17 @@
+package net.junitpractice.springboottesting.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import net.junitpractice.springboottesting.model.EmployeeOutboxEvent;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+//one change as it goes out on GET /api/employees/changes, offset is the outbox id and only ever grows
+//data is the json stored in the outbox, written out as is instead of being parsed and serialized again
+public record EmployeeChangeEvent(long offset, long employeeId, EmployeeOutboxEvent.Type type, @JsonRawValue String data, Instant at) {
+
+    public static EmployeeChangeEvent of(EmployeeOutboxEvent event) {
+        return new EmployeeChangeEvent(event.getId(), event.getEmployeeId(), event.getType(), event.getPayload(),
+                event.getCreatedAt().toInstant(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,31 @@
+package net.junitpractice.springboottesting.dto;
+
+//state of one employee sent to POST /api/employees/ingest, polled on GET /api/employees/ingest/{trackingId}
+public record EmployeeIngestStatus(String trackingId, State state, Long id, String message) {
+
+    public enum State {
+        QUEUED,
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+
+    public static EmployeeIngestStatus queued(String trackingId) {
+        return new EmployeeIngestStatus(trackingId, State.QUEUED, null, null);
+    }
+
+    //outcome of the row in the bulk save that flushed it
+    public static EmployeeIngestStatus of(String trackingId, EmployeeBulkResult result) {
+        State state = switch (result.status()) {
+            case CREATED -> State.CREATED;
+            case DUPLICATE -> State.DUPLICATE;
+            case INVALID -> State.INVALID;
+        };
+        return new EmployeeIngestStatus(trackingId, state, result.id(), result.message());
+    }
+
+    public static EmployeeIngestStatus failed(String trackingId, String message) {
+        return new EmployeeIngestStatus(trackingId, State.FAILED, null, message);
+    }
+}
@@ -0,0 +1,7 @@
+package net.junitpractice.springboottesting.dto;
+
+//cheap fingerprint of the whole employees table, any insert, update or delete changes at least one of the numbers
+//update bumps a version, insert raises count and max id, delete lowers count and the id sum
+//the sums and max are null on an empty table
+public record EmployeeListVersion(Long count, Long maxId, Long idSum, Long versionSum) {
+}
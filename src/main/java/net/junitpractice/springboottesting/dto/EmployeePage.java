@@ -0,0 +1,9 @@
+package net.junitpractice.springboottesting.dto;
+
+import net.junitpractice.springboottesting.model.Employee;
+
+import java.util.List;
+
+//one keyset page of employees, nextCursor is null when there are no more rows after this page
+public record EmployeePage(List<Employee> content, String nextCursor) {
+}
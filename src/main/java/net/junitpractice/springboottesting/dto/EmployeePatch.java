@@ -0,0 +1,6 @@
+package net.junitpractice.springboottesting.dto;
+
+//body of PATCH /api/employees/{id}, only the non null fields are changed
+//version is optional, when it is sent the update only applies if the row still has that version
+public record EmployeePatch(String firstName, String lastName, String email, Long version) {
+}
@@ -0,0 +1,11 @@
+package net.junitpractice.springboottesting.dto;
+
+import net.junitpractice.springboottesting.model.Employee;
+
+//read-only view of an employee for list and search responses, repository queries select it directly so no entity is hydrated
+public record EmployeeSummary(long id, String firstName, String lastName, String email) {
+
+    public static EmployeeSummary of(Employee employee) {
+        return new EmployeeSummary(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail());
+    }
+}
@@ -0,0 +1,6 @@
+package net.junitpractice.springboottesting.dto;
+
+//body of PUT /api/employees/{id}, the same json as an Employee. any id in the body is ignored, the path decides
+//version is optional like in EmployeePatch, when it is sent (or If-Match is) the update only applies if the row still has that version
+public record EmployeeUpdate(String firstName, String lastName, String email, Long version) {
+}
@@ -2,6 +2,8 @@ package net.junitpractice.springboottesting.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Setter
 @Getter
@@ -9,10 +11,25 @@ import lombok.*;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "employees")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Employee.CACHE_REGION)       //second level cache, bulk jpql updates and deletes evict the whole region
+@Table(name = "employees", indexes = {
+        @Index(name = Employee.EMAIL_UNIQUE_INDEX, columnList = "email", unique = true),    //makes email lookups an index probe and stops concurrent duplicate inserts
+        @Index(name = Employee.NAME_INDEX, columnList = "first_name, last_name")               //backs the first name + last name lookups in EmployeeRepository
+})
 public class Employee {
+    //the schema itself is created by the flyway migrations in db/migration, keep these names in sync with them
+    public static final String EMAIL_UNIQUE_INDEX = "uk_employees_email";
+    public static final String NAME_INDEX = "idx_employees_first_name_last_name";
+    //hibernate cache regions, sized and expired in application.conf
+    public static final String CACHE_REGION = "employee";
+    public static final String NAME_QUERY_CACHE_REGION = "employee-name-queries";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    //pooled sequence lets hibernate hand out ids in memory and batch the inserts, IDENTITY turns jdbc batching off
+    //mysql has no sequences so hibernate backs this with an employees_seq table
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
     private long id;
     @Column(name = "first_name",nullable = false)
     private String firstName;
@@ -20,5 +37,9 @@ public class Employee {
     private String lastName;
     @Column(name="email",nullable = false)
     private String email;
+    //optimistic locking, bumped on every update so concurrent writers can't silently overwrite each other
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
 
 }
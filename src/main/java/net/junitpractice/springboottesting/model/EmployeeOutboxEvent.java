@@ -0,0 +1,45 @@
+package net.junitpractice.springboottesting.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "employee_outbox", indexes = {
+        @Index(name = EmployeeOutboxEvent.CREATED_AT_INDEX, columnList = "created_at")      //backs the retention purge
+})
+public class EmployeeOutboxEvent {
+    //created by V3__create_employee_outbox.sql, keep in sync with it
+    public static final String CREATED_AT_INDEX = "idx_employee_outbox_created_at";
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        PATCHED,
+        DELETED
+    }
+
+    @Id
+    //auto increment so ids grow in insert order across every instance, the id is the offset consumers resume from
+    //a pooled sequence would batch better but hands out id blocks per instance, so a consumer could skip past a lower id committed later
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+    @Column(name = "employee_id", nullable = false)
+    private long employeeId;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, columnDefinition = "varchar(16)")      //plain varchar, hibernate would expect a mysql enum column otherwise
+    private Type type;
+    //json, the employee after CREATED and UPDATED, the fields that were sent for PATCHED, null for DELETED
+    @Column(name = "payload", length = 4000)
+    private String payload;
+    //utc from the database clock, set by the column default. the relay uses it to give up on id gaps and to purge old rows
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+}
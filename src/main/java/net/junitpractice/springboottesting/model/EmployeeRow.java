@@ -0,0 +1,24 @@
+package net.junitpractice.springboottesting.model;
+
+import net.junitpractice.springboottesting.dto.EmployeeSummary;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+//r2dbc mapping of the employees table for the reactive profile, columns follow the same snake case names as the jpa entity
+@Table("employees")
+public record EmployeeRow(@Id long id, String firstName, String lastName, String email, long version) {
+
+    public Employee toEmployee() {
+        return Employee.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .version(version)
+                .build();
+    }
+
+    public EmployeeSummary toSummary() {
+        return new EmployeeSummary(id, firstName, lastName, email);
+    }
+}
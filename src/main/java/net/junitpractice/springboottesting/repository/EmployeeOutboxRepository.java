@@ -0,0 +1,32 @@
+package net.junitpractice.springboottesting.repository;
+
+import net.junitpractice.springboottesting.model.EmployeeOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface EmployeeOutboxRepository extends JpaRepository<EmployeeOutboxEvent, Long> {
+
+    //the next batch after an offset, a primary key range scan that stops after one page
+    List<EmployeeOutboxEvent> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+    //same clock as the created_at column default
+    @Query(value = "select utc_timestamp(6)", nativeQuery = true)
+    LocalDateTime findDatabaseTime();
+
+    //empty when the outbox is empty
+    @Query("select min(e.id) from EmployeeOutboxEvent e")
+    Optional<Long> findOldestId();
+
+    @Transactional
+    @Modifying
+    @Query("delete from EmployeeOutboxEvent e where e.createdAt < :createdBefore")
+    int deleteRowsCreatedBefore(@Param("createdBefore") LocalDateTime createdBefore);
+}
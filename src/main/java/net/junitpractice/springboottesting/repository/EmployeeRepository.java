@@ -1,19 +1,55 @@
 package net.junitpractice.springboottesting.repository;
 
+import jakarta.persistence.QueryHint;
+import net.junitpractice.springboottesting.dto.EmployeeListVersion;
+import net.junitpractice.springboottesting.dto.EmployeeSummary;
 import net.junitpractice.springboottesting.model.Employee;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface EmployeeRepository  extends JpaRepository<Employee,Long> {
+    //rows per round trip for the streaming queries, with useCursorFetch=true on the mysql url the driver uses a server side cursor instead of buffering the whole result
+    String STREAM_FETCH_SIZE = "1000";
+
     Optional<Employee> findByEmail(String email);
+
+    //set based duplicate check, one query for a whole chunk of emails instead of one findByEmail per row
+    @Query("select e.email from Employee e where e.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    //every email in the table, used to load the known email filter at startup
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select e.email from Employee e")
+    Stream<String> streamAllEmails();
+    //the four single result name lookups below throw IncorrectResultSizeDataAccessException once two employees share a name,
+    //use streamByName or findByFirstNameAndLastNameAndIdGreaterThanOrderByIdAsc when the name can repeat
+    //the two jpql name lookups go through the hibernate query cache, any write to employees invalidates the cached results
+    //the native versions are left uncached so they still show the cost of going to mysql
     //custom query using jpql to test purpose, use @query to write java persistence query language with index params
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = Employee.NAME_QUERY_CACHE_REGION)
+    })
     @Query("select e from Employee e where e.firstName =?1 and e.lastName =?2")
     Employee findByJPQL(String firstName,String lastName);
 
     //define cutom query JPQL with named parameters
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = Employee.NAME_QUERY_CACHE_REGION)
+    })
     @Query("select e from Employee e where e.firstName =:firstName and e.lastName =:lastName")
     Employee findByJPQLNamedpaams(@Param("firstName") String firstName, @Param("lastName") String lastName);
 
@@ -24,4 +60,67 @@ public interface EmployeeRepository  extends JpaRepository<Employee,Long> {
     //define custom query using Native SQL with named params
     @Query(value = "select * from employees e where e.first_name =:firstName and e.last_name =:lastName",nativeQuery = true)
     Employee findByNativeSQLWithNamedParams(@Param("firstName") String firstName,@Param("lastName") String lastName);
+
+    //every employee with that name off the jdbc cursor, the name index keeps the matches in id order so there is no sort
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from Employee e where e.firstName = :firstName and e.lastName = :lastName order by e.id")
+    Stream<Employee> streamByName(@Param("firstName") String firstName, @Param("lastName") String lastName);
+
+    //keyset pages of the same matches
+    List<Employee> findByFirstNameAndLastNameAndIdGreaterThanOrderByIdAsc(String firstName, String lastName, long id, Pageable pageable);
+
+    //keyset pagination, seek past the last id we returned instead of using an offset so every page costs the same
+    List<Employee> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+    //stream every row off the jdbc cursor instead of loading them all into a list
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from Employee e order by e.id")
+    Stream<Employee> streamAll();
+
+    //read-only listing as dto projections, the rows never become managed entities so there are no dirty checking snapshots
+    //flush mode MANUAL so running it inside a transaction doesn't flush pending changes first
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("select new net.junitpractice.springboottesting.dto.EmployeeSummary(e.id, e.firstName, e.lastName, e.email) from Employee e order by e.id")
+    List<EmployeeSummary> findAllSummaries();
+
+    //one aggregate row instead of every entity, lets a conditional GET of the list answer 304 without running findAll
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("select new net.junitpractice.springboottesting.dto.EmployeeListVersion(count(e), max(e.id), sum(e.id), sum(e.version)) from Employee e")
+    EmployeeListVersion getListVersion();
+
+    //prefix search straight on the db, only used when the in-memory search index is off or still loading
+    //pattern is the lower case prefix with %, _ and ! escaped by ! and a trailing %, a left anchored like
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("select new net.junitpractice.springboottesting.dto.EmployeeSummary(e.id, e.firstName, e.lastName, e.email) from Employee e " +
+            "where lower(e.firstName) like :pattern escape '!' " +
+            "or lower(e.lastName) like :pattern escape '!' or lower(e.email) like :pattern escape '!' order by e.id")
+    List<EmployeeSummary> findByNameOrEmailPrefix(@Param("pattern") String pattern, Pageable pageable);
+
+    //single statement partial update, null fields keep their value and a non null version must match the row (optimistic lock)
+    //returns the affected row count so callers know about a missing id without selecting the row first
+    @Transactional
+    @Modifying
+    @Query("update Employee e set e.firstName = coalesce(:firstName, e.firstName), e.lastName = coalesce(:lastName, e.lastName), " +
+            "e.email = coalesce(:email, e.email), e.version = e.version + 1 " +
+            "where e.id = :id and (:version is null or e.version = :version)")
+    int patchEmployee(@Param("id") long id, @Param("firstName") String firstName, @Param("lastName") String lastName,
+                      @Param("email") String email, @Param("version") Long version);
+
+    //plain DELETE ... WHERE id=?, unlike deleteById it doesn't load the entity first and tells us if the row existed
+    @Transactional
+    @Modifying
+    @Query("delete from Employee e where e.id = :id")
+    int deleteRowById(@Param("id") long id);
+
+    //one IN-list delete, callers keep the list at a sane size
+    @Transactional
+    @Modifying
+    @Query("delete from Employee e where e.id in :ids")
+    int deleteRowsByIdIn(@Param("ids") Collection<Long> ids);
 }
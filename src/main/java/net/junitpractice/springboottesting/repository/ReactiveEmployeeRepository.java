@@ -0,0 +1,35 @@
+package net.junitpractice.springboottesting.repository;
+
+import net.junitpractice.springboottesting.model.EmployeeRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+//non blocking counterpart of EmployeeRepository for the reactive profile, only created when r2dbc is configured
+public interface ReactiveEmployeeRepository extends R2dbcRepository<EmployeeRow, Long> {
+
+    Mono<EmployeeRow> findByEmail(String email);
+
+    //rows are pulled off the connection as the subscriber requests them, so a slow client slows the query instead of filling memory
+    @Query("select * from employees e order by e.id")
+    Flux<EmployeeRow> streamAll();
+
+    //keyset pagination like EmployeeRepository.findByIdGreaterThanOrderByIdAsc
+    @Query("select * from employees e where e.id > :after order by e.id limit :limit")
+    Flux<EmployeeRow> findPageAfter(@Param("after") long after, @Param("limit") int limit);
+
+    //the four name lookups of EmployeeRepository are the same query written four ways, these cover every match of a name
+    @Query("select * from employees e where e.first_name = :firstName and e.last_name = :lastName order by e.id")
+    Flux<EmployeeRow> streamByName(@Param("firstName") String firstName, @Param("lastName") String lastName);
+
+    @Query("select * from employees e where e.first_name = :firstName and e.last_name = :lastName and e.id > :after order by e.id limit :limit")
+    Flux<EmployeeRow> findByNameAfter(@Param("firstName") String firstName, @Param("lastName") String lastName,
+                                      @Param("after") long after, @Param("limit") int limit);
+
+    //same prefix match as EmployeeRepository.findByNameOrEmailPrefix, the pattern is already lower case and escaped with !
+    @Query("select * from employees e where lower(e.first_name) like :pattern escape '!' " +
+            "or lower(e.last_name) like :pattern escape '!' or lower(e.email) like :pattern escape '!' order by e.id limit :limit")
+    Flux<EmployeeRow> findByNameOrEmailPrefix(@Param("pattern") String pattern, @Param("limit") int limit);
+}
@@ -1,14 +1,34 @@
 package net.junitpractice.springboottesting.service;
 
+import net.junitpractice.springboottesting.dto.EmployeeBatchGetResult;
+import net.junitpractice.springboottesting.dto.EmployeeBulkResult;
+import net.junitpractice.springboottesting.dto.EmployeeListVersion;
+import net.junitpractice.springboottesting.dto.EmployeePage;
+import net.junitpractice.springboottesting.dto.EmployeePatch;
+import net.junitpractice.springboottesting.dto.EmployeeSummary;
 import net.junitpractice.springboottesting.model.Employee;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
     Employee saveEmployee(Employee employee);
+    List<EmployeeBulkResult> saveAllEmployees(Iterator<Employee> employees);
     List<Employee> getAllEmployees();
+    EmployeeListVersion getEmployeeListVersion();
+    List<EmployeeSummary> getAllEmployeeSummaries();
+    EmployeePage getEmployeesPage(String cursor, int size);
+    List<EmployeeSummary> searchEmployees(String query, int limit);
+    void streamAllEmployees(Consumer<Employee> consumer);
+    EmployeePage getEmployeesByName(String firstName, String lastName, String cursor, int size);
+    void streamEmployeesByName(String firstName, String lastName, Consumer<Employee> consumer);
     Optional<Employee> getEmployeeById(long id);
+    EmployeeBatchGetResult getEmployeesByIds(List<Long> ids);
     Employee updateEmployee(Employee updatedEmployee);
-    void deleteEmployeeById(long id);
+    boolean patchEmployee(long id, EmployeePatch patch);
+    boolean deleteEmployeeById(long id);
+    int deleteEmployeesByIds(Collection<Long> ids);
 }
@@ -0,0 +1,22 @@
+package net.junitpractice.springboottesting.service;
+
+import net.junitpractice.springboottesting.dto.EmployeeBatchGetResult;
+import net.junitpractice.springboottesting.dto.EmployeePage;
+import net.junitpractice.springboottesting.dto.EmployeeSummary;
+import net.junitpractice.springboottesting.model.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+//the read methods of EmployeeService, the reactive profile has no writes
+public interface ReactiveEmployeeService {
+    Flux<Employee> getAllEmployees();
+    Flux<EmployeeSummary> getAllEmployeeSummaries();
+    Mono<EmployeePage> getEmployeesPage(String cursor, int size);
+    Flux<EmployeeSummary> searchEmployees(String query, int limit);
+    Mono<EmployeePage> getEmployeesByName(String firstName, String lastName, String cursor, int size);
+    Flux<Employee> streamEmployeesByName(String firstName, String lastName);
+    Mono<Employee> getEmployeeById(long id);
+    Mono<EmployeeBatchGetResult> getEmployeesByIds(List<Long> ids);
+}
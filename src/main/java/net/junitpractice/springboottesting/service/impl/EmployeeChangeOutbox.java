@@ -0,0 +1,107 @@
+package net.junitpractice.springboottesting.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import net.junitpractice.springboottesting.dto.EmployeePatch;
+import net.junitpractice.springboottesting.model.Employee;
+import net.junitpractice.springboottesting.model.EmployeeOutboxEvent;
+import net.junitpractice.springboottesting.repository.EmployeeOutboxRepository;
+import org.hibernate.query.NativeQuery;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+//writes employee changes to the employee_outbox table for EmployeeChangeRelay to pick up
+//every method joins the transaction of the write it records, so the change and its event commit or roll back together
+@Component
+@ConditionalOnProperty(name = "employee.outbox.enabled", havingValue = "true")
+@Transactional(propagation = Propagation.MANDATORY)     //fails instead of committing an event on its own
+public class EmployeeChangeOutbox {
+    //rows per multi row insert, 3 bind parameters each
+    static final int MAX_ROWS_PER_INSERT = 1000;
+
+    private final EmployeeOutboxRepository outboxRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public EmployeeChangeOutbox(EmployeeOutboxRepository outboxRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    public void recordCreated(Employee employee) {
+        outboxRepository.save(event(employee.getId(), EmployeeOutboxEvent.Type.CREATED, employee));
+    }
+
+    public void recordCreated(Collection<Employee> employees) {
+        insertAll(employees.stream()
+                .map(employee -> event(employee.getId(), EmployeeOutboxEvent.Type.CREATED, employee))
+                .toList());
+    }
+
+    //the employee has to be flushed already, otherwise the payload still carries the old version
+    public void recordUpdated(Employee employee) {
+        outboxRepository.save(event(employee.getId(), EmployeeOutboxEvent.Type.UPDATED, employee));
+    }
+
+    public void recordPatched(long id, EmployeePatch patch) {
+        outboxRepository.save(event(id, EmployeeOutboxEvent.Type.PATCHED, patch));
+    }
+
+    public void recordDeleted(long id) {
+        outboxRepository.save(event(id, EmployeeOutboxEvent.Type.DELETED, null));
+    }
+
+    public void recordDeleted(Collection<Long> ids) {
+        insertAll(ids.stream()
+                .map(id -> event(id, EmployeeOutboxEvent.Type.DELETED, null))
+                .toList());
+    }
+
+    //hibernate can't jdbc batch IDENTITY inserts, so the bulk paths write their events as multi row inserts instead of one insert per row
+    //the row count is known up front, so mysql hands the statement consecutive ids and leaves no spare ones for the relay to wait on
+    private void insertAll(List<EmployeeOutboxEvent> events) {
+        for (int from = 0; from < events.size(); from += MAX_ROWS_PER_INSERT) {
+            List<EmployeeOutboxEvent> chunk = events.subList(from, Math.min(from + MAX_ROWS_PER_INSERT, events.size()));
+            StringBuilder sql = new StringBuilder("insert into employee_outbox (employee_id, event_type, payload) values ");
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "" : ", ").append(chunk.get(i).getPayload() == null ? "(?, ?, null)" : "(?, ?, ?)");
+            }
+            Query insert = entityManager.createNativeQuery(sql.toString());
+            int position = 1;
+            for (EmployeeOutboxEvent event : chunk) {
+                insert.setParameter(position++, event.getEmployeeId());
+                insert.setParameter(position++, event.getType().name());
+                if (event.getPayload() != null) {
+                    insert.setParameter(position++, event.getPayload());
+                }
+            }
+            //only the outbox changes, otherwise hibernate drops every second level cache region after a native insert
+            insert.unwrap(NativeQuery.class).addSynchronizedEntityClass(EmployeeOutboxEvent.class);
+            insert.executeUpdate();
+        }
+    }
+
+    private EmployeeOutboxEvent event(long employeeId, EmployeeOutboxEvent.Type type, Object payload) {
+        return EmployeeOutboxEvent.builder()
+                .employeeId(employeeId)
+                .type(type)
+                .payload(payload == null ? null : toJson(payload))
+                .build();
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not write outbox payload for " + payload, e);
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package net.junitpractice.springboottesting.service.impl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.junitpractice.springboottesting.dto.EmployeeChangeEvent;
+import net.junitpractice.springboottesting.model.EmployeeOutboxEvent;
+import net.junitpractice.springboottesting.repository.EmployeeOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//reads the outbox in order and pushes each subscriber of GET /api/employees/changes the next batch after its own offset
+//subscribers at the same offset share one query, so any number of caught up consumers cost one primary key range scan per poll
+//auto increment ids are handed out at insert but become visible at commit, so a hole in the ids may be a transaction still running
+//a subscriber never moves past a hole until the row after it is older than gap-timeout. every outbox write runs in a transaction
+//capped at EmployeeServiceImpl.WRITE_TIMEOUT_SECONDS, so by then the missing id is either committed and read or rolled back for good
+//the poller never writes to a client: each subscriber has its own queue of at most send-buffer batches drained on a sender thread,
+//a subscriber with a full queue is skipped until it catches up and one stuck in a single send for longer than send-timeout is dropped
+@Component
+@ConditionalOnProperty(name = "employee.outbox.enabled", havingValue = "true")
+public class EmployeeChangeRelay implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeChangeRelay.class);
+    //the retention is in days, no need to purge on every poll
+    private static final long PURGE_INTERVAL_NANOS = Duration.ofMinutes(1).toNanos();
+
+    private final EmployeeOutboxRepository outboxRepository;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration gapTimeout;
+    private final Duration retention;
+    private final int sendBuffer;
+    private final long sendTimeoutNanos;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean running;
+    //threads come and go with the subscribers, a client stuck in a socket write only ever holds its own
+    private volatile ExecutorService sender = newSender();
+    private Thread poller;
+    private long lastPurge = System.nanoTime();
+
+    public EmployeeChangeRelay(EmployeeOutboxRepository outboxRepository,
+                               @Value("${employee.outbox.batch-size:100}") int batchSize,
+                               @Value("${employee.outbox.poll-interval:500ms}") Duration pollInterval,
+                               @Value("${employee.outbox.gap-timeout:150s}") Duration gapTimeout,
+                               @Value("${employee.outbox.retention:7d}") Duration retention,
+                               @Value("${employee.outbox.send-buffer:16}") int sendBuffer,
+                               @Value("${employee.outbox.send-timeout:30s}") Duration sendTimeout) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("employee.outbox.batch-size must be positive");
+        }
+        if (sendBuffer <= 0) {
+            throw new IllegalArgumentException("employee.outbox.send-buffer must be positive");
+        }
+        if (gapTimeout.compareTo(Duration.ofSeconds(EmployeeServiceImpl.WRITE_TIMEOUT_SECONDS)) <= 0) {
+            throw new IllegalArgumentException("employee.outbox.gap-timeout must be longer than the "
+                    + EmployeeServiceImpl.WRITE_TIMEOUT_SECONDS + "s write transaction timeout");
+        }
+        this.outboxRepository = outboxRepository;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+        this.sendBuffer = sendBuffer;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+    }
+
+    //optional so the relay also runs without actuator
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        Gauge.builder("employee.outbox.subscribers", subscriptions, Set::size)
+                .description("open change stream connections")
+                .register(meterRegistry);
+    }
+
+    //the listener gets every event with an offset above after, in order and in batches of at most batch-size, on a sender thread
+    public Subscription subscribe(long after, Listener listener) {
+        Subscription subscription = new Subscription(after, listener);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    //true when events after this offset were already purged, the consumer missed them and has to read the full list again
+    //gaps left by rolled back inserts can make this true without a purge, that only costs the consumer an unneeded full read
+    public boolean isBehindRetention(long after) {
+        return after > 0 && outboxRepository.findOldestId().map(oldest -> oldest > after + 1).orElse(false);
+    }
+
+    //one round, a query per distinct subscriber offset. true when some batch came back full, so there is more to send right away
+    public boolean poll() {
+        if (subscriptions.isEmpty()) {
+            return false;
+        }
+        //read before the rows, so a transaction that started before a row older than this has ended before the rows are read
+        LocalDateTime gapsClosedBefore = outboxRepository.findDatabaseTime().minus(gapTimeout);
+        Map<Long, List<EmployeeChangeEvent>> batches = new HashMap<>();
+        boolean behind = false;
+        for (Subscription subscription : subscriptions) {
+            if (subscription.isStuck()) {
+                log.info("Dropping change stream subscriber at offset {}, a send has been blocked for more than {}",
+                        subscription.sentOffset, Duration.ofNanos(sendTimeoutNanos));
+                subscription.drop();
+                continue;
+            }
+            if (subscription.pending.remainingCapacity() == 0) {
+                continue;       //its sender is still busy with earlier batches, reading more for it would only pile up memory
+            }
+            long offset = subscription.offset;
+            List<EmployeeChangeEvent> batch = batches.computeIfAbsent(offset, after -> upToOpenGap(after,
+                    outboxRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, batchSize)), gapsClosedBefore));
+            if (batch.isEmpty()) {
+                continue;
+            }
+            subscription.enqueue(batch);
+            subscription.offset = batch.get(batch.size() - 1).offset();
+            behind |= batch.size() == batchSize;
+        }
+        return behind;
+    }
+
+    //the rows that directly follow after, and the ones past a hole only once the row after the hole is older than the gap timeout
+    //a hole below the oldest row, left by the retention purge, is always old enough
+    static List<EmployeeChangeEvent> upToOpenGap(long after, List<EmployeeOutboxEvent> rows, LocalDateTime gapsClosedBefore) {
+        List<EmployeeChangeEvent> events = new ArrayList<>(rows.size());
+        long previous = after;
+        for (EmployeeOutboxEvent row : rows) {
+            if (row.getId() != previous + 1 && !row.getCreatedAt().isBefore(gapsClosedBefore)) {
+                break;      //the missing ids may still commit, the next poll looks again
+            }
+            events.add(EmployeeChangeEvent.of(row));
+            previous = row.getId();
+        }
+        return events;
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        if (sender.isShutdown()) {
+            sender = newSender();
+        }
+        poller = new Thread(this::pollLoop, "employee-outbox-relay");
+        poller.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = poller;
+            poller = null;
+        }
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        subscriptions.clear();
+        sender.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    //same phase as the ingest queue, stop after the web server has closed the streams
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void pollLoop() {
+        while (running) {
+            boolean behind = false;
+            try {
+                behind = poll();
+                purgeIfDue();
+            } catch (RuntimeException e) {
+                log.warn("Could not relay employee changes, retrying in {}", pollInterval, e);
+            }
+            if (!behind) {
+                try {
+                    Thread.sleep(pollInterval.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void purgeIfDue() {
+        if (System.nanoTime() - lastPurge < PURGE_INTERVAL_NANOS) {
+            return;
+        }
+        lastPurge = System.nanoTime();
+        int purged = outboxRepository.deleteRowsCreatedBefore(outboxRepository.findDatabaseTime().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} employee outbox events older than {}", purged, retention);
+        }
+    }
+
+    private static ExecutorService newSender() {
+        AtomicInteger threads = new AtomicInteger();
+        return Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "employee-outbox-sender-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+        void onEvents(List<EmployeeChangeEvent> events) throws IOException;
+
+        //the relay gave up on this subscriber, because a send failed or blocked for too long. called on a sender thread
+        default void onDropped() {
+        }
+    }
+
+    public final class Subscription {
+        private final Listener listener;
+        private final BlockingQueue<List<EmployeeChangeEvent>> pending = new ArrayBlockingQueue<>(sendBuffer);
+        //set while a sender thread is draining pending, so batches of one subscriber go out one at a time and in order
+        private final AtomicBoolean sending = new AtomicBoolean();
+        //only the poller thread moves it forward, it is the offset of the last batch queued
+        private volatile long offset;
+        //the offset of the last batch the client took
+        private volatile long sentOffset;
+        //System.nanoTime() when the send in progress started, 0 between sends
+        private volatile long sendStartedAt;
+        private volatile boolean cancelled;
+
+        private Subscription(long offset, Listener listener) {
+            this.offset = offset;
+            this.sentOffset = offset;
+            this.listener = listener;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            pending.clear();
+        }
+
+        //the poller checked there is room, it is the only thread that adds
+        private void enqueue(List<EmployeeChangeEvent> batch) {
+            pending.add(batch);
+            if (sending.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                List<EmployeeChangeEvent> batch;
+                while (!cancelled && (batch = pending.poll()) != null) {
+                    sendStartedAt = System.nanoTime();
+                    try {
+                        listener.onEvents(batch);
+                        sentOffset = batch.get(batch.size() - 1).offset();
+                    } catch (IOException | RuntimeException e) {
+                        log.debug("Dropping change stream subscriber at offset {}", sentOffset, e);     //usually the client went away
+                        sendStartedAt = 0;
+                        drop();
+                        return;
+                    }
+                    sendStartedAt = 0;
+                }
+                sending.set(false);
+                //a batch queued between the last poll() and clearing the flag would otherwise wait for the next one
+            } while (!cancelled && !pending.isEmpty() && sending.compareAndSet(false, true));
+        }
+
+        private boolean isStuck() {
+            long startedAt = sendStartedAt;
+            return startedAt != 0 && System.nanoTime() - startedAt > sendTimeoutNanos;
+        }
+
+        //the listener is told on a sender thread, closing the connection may block on the very write that got stuck
+        private void drop() {
+            cancel();
+            try {
+                sender.execute(() -> {
+                    try {
+                        listener.onDropped();
+                    } catch (RuntimeException e) {
+                        log.debug("Could not close change stream subscriber at offset {}", sentOffset, e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                log.debug("Relay stopped, not closing change stream subscriber at offset {}", sentOffset);      //the web server closes it
+            }
+        }
+    }
+}
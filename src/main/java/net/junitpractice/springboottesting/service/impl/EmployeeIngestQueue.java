@@ -0,0 +1,191 @@
+package net.junitpractice.springboottesting.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.junitpractice.springboottesting.dto.EmployeeBulkResult;
+import net.junitpractice.springboottesting.dto.EmployeeIngestStatus;
+import net.junitpractice.springboottesting.model.Employee;
+import net.junitpractice.springboottesting.service.EmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+//write-behind buffer for POST /api/employees/ingest, requests only enqueue and a single drainer thread
+//writes the employees with saveAllEmployees in batches of batch-size, or whatever arrived within linger of the first one
+@Component
+@ConditionalOnProperty(name = "employee.ingest.enabled", havingValue = "true")
+public class EmployeeIngestQueue implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeIngestQueue.class);
+    //how long an idle drainer waits before checking whether it should stop
+    private static final long IDLE_POLL_MILLIS = 500;
+
+    private final EmployeeService employeeService;
+    private final BlockingQueue<PendingEmployee> queue;
+    private final int batchSize;
+    private final Duration linger;
+    //finished statuses are only kept for a while, clients are expected to poll soon after submitting
+    private final Cache<String, EmployeeIngestStatus> statuses;
+
+    private volatile boolean running;
+    private Thread drainer;
+
+    public EmployeeIngestQueue(EmployeeService employeeService,
+                               @Value("${employee.ingest.queue-capacity:10000}") int queueCapacity,
+                               @Value("${employee.ingest.batch-size:50}") int batchSize,
+                               @Value("${employee.ingest.linger:200ms}") Duration linger,
+                               @Value("${employee.ingest.status-ttl:10m}") Duration statusTtl) {
+        if (queueCapacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("employee.ingest.queue-capacity and employee.ingest.batch-size must be positive");
+        }
+        this.employeeService = employeeService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.linger = linger;
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(statusTtl)
+                .build();
+    }
+
+    //optional so the queue also runs without actuator
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        Gauge.builder("employee.ingest.queue.size", queue, BlockingQueue::size)
+                .description("employees waiting to be written")
+                .register(meterRegistry);
+    }
+
+    //empty when the queue is full or shutting down, the caller should retry later
+    public Optional<String> offer(Employee employee) {
+        if (!running) {
+            return Optional.empty();
+        }
+        String trackingId = UUID.randomUUID().toString();
+        statuses.put(trackingId, EmployeeIngestStatus.queued(trackingId));
+        if (!queue.offer(new PendingEmployee(trackingId, employee))) {
+            statuses.invalidate(trackingId);
+            return Optional.empty();
+        }
+        return Optional.of(trackingId);
+    }
+
+    public Optional<EmployeeIngestStatus> getStatus(String trackingId) {
+        return Optional.ofNullable(statuses.getIfPresent(trackingId));
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        drainer = new Thread(this::drainLoop, "employee-ingest-drainer");
+        drainer.start();
+    }
+
+    //stops taking new employees and returns once everything already queued is written
+    @Override
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = drainer;
+            drainer = null;
+        }
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    //start before and stop after the web server, so no request can enqueue once the drainer is gone
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drainLoop() {
+        List<PendingEmployee> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingEmployee first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Employee ingest drainer interrupted with {} employees still queued", queue.size());
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    //waits at most linger after the first employee for the batch to fill up, a full batch goes right away
+    private void fillBatch(List<PendingEmployee> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + linger.toNanos();
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            PendingEmployee next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingEmployee> batch) {
+        try {
+            //one transaction per batch, results come back in the order the employees were passed in
+            List<EmployeeBulkResult> results = employeeService.saveAllEmployees(batch.stream().map(PendingEmployee::employee).iterator());
+            for (int i = 0; i < batch.size(); i++) {
+                String trackingId = batch.get(i).trackingId();
+                statuses.put(trackingId, EmployeeIngestStatus.of(trackingId, results.get(i)));
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not write a batch of {} queued employees", batch.size(), e);
+            for (PendingEmployee pending : batch) {
+                statuses.put(pending.trackingId(), EmployeeIngestStatus.failed(pending.trackingId(), "Could not save employee: " + e.getMessage()));
+            }
+        }
+    }
+
+    private record PendingEmployee(String trackingId, Employee employee) {
+    }
+}
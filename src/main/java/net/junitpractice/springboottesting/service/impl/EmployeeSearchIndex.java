@@ -0,0 +1,169 @@
+package net.junitpractice.springboottesting.service.impl;
+
+import net.junitpractice.springboottesting.dto.EmployeePatch;
+import net.junitpractice.springboottesting.dto.EmployeeSummary;
+import net.junitpractice.springboottesting.model.Employee;
+import net.junitpractice.springboottesting.repository.EmployeeRepository;
+import net.junitpractice.springboottesting.util.PrefixIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+//in-memory prefix index over first name, last name and email, lets the autocomplete search answer without touching the db
+//kept up to date by EmployeeServiceImpl on every write, the db stays the source of truth
+@Component
+@ConditionalOnProperty(name = "employee.search.enabled", havingValue = "true")
+public class EmployeeSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final PrefixIndex index = new PrefixIndex();
+    private final Map<Long, EmployeeSummary> hits = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    //changes committed while warmUp streams the table, replayed in order over the snapshot once it is read. guarded by this
+    private List<Runnable> changesDuringLoad;
+
+    public EmployeeSearchIndex(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    //the snapshot may be older or newer than a change committed during the load, replaying the changes afterwards in commit order
+    //leaves every row at its latest state. applied right away a delete would be undone by the snapshot row coming after it
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        synchronized (this) {
+            changesDuringLoad = new ArrayList<>();
+        }
+        try (Stream<Employee> employees = employeeRepository.streamAll()) {
+            employees.forEach(this::add);
+            synchronized (this) {
+                changesDuringLoad.forEach(Runnable::run);
+                log.info("Loaded {} employees into the search index, replayed {} changes made during the load",
+                        hits.size(), changesDuringLoad.size());
+                changesDuringLoad = null;
+                ready = true;
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changesDuringLoad = null;
+            }
+            //not fatal, the index just stays not ready and searches keep going to the db
+            log.warn("Could not load the employee search index, searches will go to the db", e);
+        }
+    }
+
+    //until the index is loaded it can't answer for rows it hasn't seen yet
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void put(Employee employee) {
+        EmployeeSummary hit = EmployeeSummary.of(employee);
+        afterCommit(() -> add(hit));
+    }
+
+    //a patch only carries the changed fields, merge them into what the index already has for the id
+    public void patch(long id, EmployeePatch patch) {
+        afterCommit(() -> patchNow(id, patch));
+    }
+
+    public void remove(long id) {
+        afterCommit(() -> removeNow(id));
+    }
+
+    public void removeAll(Collection<Long> ids) {
+        afterCommit(() -> ids.forEach(this::removeNow));
+    }
+
+    public List<EmployeeSummary> search(String query, int limit) {
+        List<EmployeeSummary> result = new ArrayList<>(limit);
+        for (Long id : index.search(normalize(query), limit)) {
+            EmployeeSummary hit = hits.get(id);
+            if (hit != null) {      //removed between the index scan and this lookup
+                result.add(hit);
+            }
+        }
+        return result;
+    }
+
+    private void add(Employee employee) {
+        add(EmployeeSummary.of(employee));
+    }
+
+    //writes are synchronized so the hit map and the prefix index change together, searches don't lock
+    private synchronized void add(EmployeeSummary hit) {
+        List<String> terms = new ArrayList<>(4);
+        addTerm(terms, hit.firstName());
+        addTerm(terms, hit.lastName());
+        addTerm(terms, hit.email());
+        if (hit.firstName() != null && hit.lastName() != null) {
+            addTerm(terms, hit.firstName() + " " + hit.lastName());     //so "john sm" finds John Smith
+        }
+        hits.put(hit.id(), hit);
+        index.put(hit.id(), terms);
+    }
+
+    private synchronized void patchNow(long id, EmployeePatch patch) {
+        EmployeeSummary current = hits.get(id);
+        if (current != null) {
+            add(new EmployeeSummary(id,
+                    patch.firstName() != null ? patch.firstName() : current.firstName(),
+                    patch.lastName() != null ? patch.lastName() : current.lastName(),
+                    patch.email() != null ? patch.email() : current.email()));
+        }
+    }
+
+    private synchronized void removeNow(long id) {
+        index.remove(id);
+        hits.remove(id);
+    }
+
+    private static void addTerm(List<String> terms, String value) {
+        if (value != null && !value.isBlank()) {
+            terms.add(normalize(value));
+        }
+    }
+
+    //mysql compares these columns case insensitively so the index does the same
+    static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    //inside a transaction only apply the change once it is committed, a rolled back write must not show up in searches
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private synchronized void apply(Runnable change) {
+        if (changesDuringLoad != null) {
+            changesDuringLoad.add(change);
+        } else {
+            change.run();
+        }
+    }
+}
@@ -1,49 +1,528 @@
 package net.junitpractice.springboottesting.service.impl;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import net.junitpractice.springboottesting.config.EmployeeCacheConfig;
+import net.junitpractice.springboottesting.dto.EmployeeBatchGetResult;
+import net.junitpractice.springboottesting.dto.EmployeeBulkResult;
+import net.junitpractice.springboottesting.dto.EmployeeListVersion;
+import net.junitpractice.springboottesting.dto.EmployeePage;
+import net.junitpractice.springboottesting.dto.EmployeePatch;
+import net.junitpractice.springboottesting.dto.EmployeeSummary;
 import net.junitpractice.springboottesting.exception.ResourceNotFoundException;
 import net.junitpractice.springboottesting.model.Employee;
 import net.junitpractice.springboottesting.repository.EmployeeRepository;
 import net.junitpractice.springboottesting.service.EmployeeService;
+import net.junitpractice.springboottesting.util.SingleFlight;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "employee.service", histogram = true, percentiles = {0.5, 0.99, 0.999})     //one timer per method, tagged with the method name
 public class EmployeeServiceImpl implements EmployeeService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_IN_LIST = 1000;
+    public static final int MAX_BATCH_GET_IDS = 2000;
+    public static final int MAX_SEARCH_RESULTS = 50;
+    //cap for the transactions that write employees, EmployeeChangeRelay relies on it to know when a hole in the outbox ids is final
+    public static final int WRITE_TIMEOUT_SECONDS = 120;
+    //ER_DUP_ENTRY, what mysql reports for a unique index violation
+    private static final int MYSQL_DUPLICATE_KEY = 1062;
+
     private EmployeeRepository employeeRepository;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    private EntityManager entityManager;
+
+    private KnownEmailFilter knownEmailFilter;
+
+    private EmployeeSearchIndex searchIndex;
+
+    private EmployeeChangeOutbox changeOutbox;
+
+    private Cache employeesCache;
+
+    //cache fills run in a read-write transaction so the routing datasource sends them to the primary, a lagging replica row would
+    //otherwise stay cached for the whole ttl. only the thread running the query holds a connection, not the callers waiting on it
+    private TransactionTemplate cacheFills;
+
+    //rows per flush in saveAllEmployees, keep it in line with hibernate.jdbc.batch_size so each flush is one jdbc batch
+    @Value("${employee.bulk.batch-size:50}")
+    private int bulkBatchSize = 50;
+
+    //concurrent cache misses for the same id share one findById, waiters give up after the timeout
+    private final SingleFlight<Long, Optional<Employee>> employeeLoads = new SingleFlight<>();
+
+    @Value("${employee.single-flight.timeout:2s}")
+    private Duration singleFlightTimeout = Duration.ofSeconds(2);
+
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, EntityManager entityManager) {
         this.employeeRepository = employeeRepository;
+        this.entityManager = entityManager;
+    }
+
+    //optional so the service also runs without spring, the loads then use the repository's own transactions
+    @Autowired(required = false)
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.cacheFills = new TransactionTemplate(transactionManager);
+    }
+
+    //optional, only present when employee.email-filter.enabled=true
+    @Autowired(required = false)
+    public void setKnownEmailFilter(KnownEmailFilter knownEmailFilter) {
+        this.knownEmailFilter = knownEmailFilter;
+    }
+
+    //the getEmployeeById cache, getEmployeesByIds reads and fills it directly. optional so the service also runs without caching
+    @Autowired(required = false)
+    public void setCacheManager(CacheManager cacheManager) {
+        this.employeesCache = cacheManager.getCache(EmployeeCacheConfig.EMPLOYEES_CACHE);
+    }
+
+    //optional so the service also runs without actuator, e.g. in plain unit tests and benchmarks
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("employee.singleflight.loads", employeeLoads, SingleFlight::loadCount)
+                .description("getEmployeeById db loads that ran")
+                .register(meterRegistry);
+        FunctionCounter.builder("employee.singleflight.coalesced", employeeLoads, SingleFlight::coalescedCount)
+                .description("getEmployeeById calls that waited for a load already in flight")
+                .register(meterRegistry);
+        FunctionCounter.builder("employee.singleflight.timeouts", employeeLoads, SingleFlight::timeoutCount)
+                .description("getEmployeeById calls that gave up waiting for a load in flight")
+                .register(meterRegistry);
+    }
+
+    //optional, only present when employee.search.enabled=true
+    @Autowired(required = false)
+    public void setSearchIndex(EmployeeSearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    //optional, only present when employee.outbox.enabled=true. writes are @Transactional so their outbox event commits with them
+    @Autowired(required = false)
+    public void setChangeOutbox(EmployeeChangeOutbox changeOutbox) {
+        this.changeOutbox = changeOutbox;
     }
 
     @Override
+    @Transactional(timeout = WRITE_TIMEOUT_SECONDS)
+    @CachePut(cacheNames = EmployeeCacheConfig.EMPLOYEES_CACHE, key = "#result.id")    //overwrites a cached 404 for the new id
     public Employee saveEmployee(Employee employee) {
-        Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
-        if(savedEmployee.isPresent()){      //if this employee already exist then we don't want to save it
+        //only probe when the filter has seen the email before, otherwise go straight to the insert and let the unique index decide
+        if (knownEmailFilter != null && knownEmailFilter.mightContain(employee.getEmail())
+                && employeeRepository.findByEmail(employee.getEmail()).isPresent()) {
             throw new ResourceNotFoundException("Employee already exists with given email"+employee.getEmail());
         }
-        return employeeRepository.save(employee);
+        Employee savedEmployee;
+        try {
+            savedEmployee = employeeRepository.saveAndFlush(employee);     //flush so a unique index violation surfaces here and not at some later commit
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateEmail(e)) {
+                throw e;
+            }
+            throw new ResourceNotFoundException("Employee already exists with given email"+employee.getEmail(), e);
+        }
+        if (changeOutbox != null) {
+            changeOutbox.recordCreated(savedEmployee);
+        }
+        if (knownEmailFilter != null) {
+            knownEmailFilter.put(savedEmployee.getEmail());
+        }
+        if (searchIndex != null) {
+            searchIndex.put(savedEmployee);
+        }
+        return savedEmployee;
+    }
+
+    //true when the violated constraint is the email unique index. without a constraint name only a mysql duplicate key error counts,
+    //email is the only unique column next to the generated id. anything else (not null, foreign keys, other drivers) is rethrown
+    private static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(Employee.EMAIL_UNIQUE_INDEX);
+            }
+            if (cause instanceof SQLIntegrityConstraintViolationException sqlViolation) {
+                return sqlViolation.getErrorCode() == MYSQL_DUPLICATE_KEY;
+            }
+        }
+        return false;
     }
 
     @Override
+    @Transactional(timeout = WRITE_TIMEOUT_SECONDS)
+    @CacheEvict(cacheNames = EmployeeCacheConfig.EMPLOYEES_CACHE, allEntries = true)    //new ids may have cached 404s, bulk loads are rare so drop everything
+    public List<EmployeeBulkResult> saveAllEmployees(Iterator<Employee> employees) {
+        List<EmployeeBulkResult> results = new ArrayList<>();
+        Set<String> seenEmails = new HashSet<>();       //catches duplicates inside the same request, not only against the db
+        List<Employee> chunk = new ArrayList<>(bulkBatchSize);
+        while (employees.hasNext()) {
+            chunk.add(employees.next());
+            if (chunk.size() == bulkBatchSize) {
+                saveChunk(chunk, results, seenEmails);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk, results, seenEmails);
+        }
+        return results;
+    }
+
+    private void saveChunk(List<Employee> chunk, List<EmployeeBulkResult> results, Set<String> seenEmails) {
+        //every email goes into the IN query, the known email filter is not consulted here. it only knows what this instance wrote, and a
+        //duplicate it misses would fail the whole chunk at flush instead of being reported as a DUPLICATE row like saveEmployee does
+        Set<String> emails = new HashSet<>();
+        for (Employee employee : chunk) {
+            if (employee.getEmail() != null) {
+                emails.add(employee.getEmail());
+            }
+        }
+        //mysql compares emails case insensitively so we do the same when matching rows against what already exists
+        Set<String> existingEmails = new HashSet<>();
+        if (!emails.isEmpty()) {
+            employeeRepository.findExistingEmails(emails).forEach(email -> existingEmails.add(normalizeEmail(email)));
+        }
+
+        int firstIndex = results.size();
+        EmployeeBulkResult[] chunkResults = new EmployeeBulkResult[chunk.size()];
+        List<Employee> newEmployees = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            Employee employee = chunk.get(i);
+            String email = employee.getEmail();
+            if (isBlank(employee.getFirstName()) || isBlank(employee.getLastName()) || isBlank(email)) {
+                chunkResults[i] = EmployeeBulkResult.invalid(firstIndex + i, email, "firstName, lastName and email are required");
+            } else if (existingEmails.contains(normalizeEmail(email)) || !seenEmails.add(normalizeEmail(email))) {
+                chunkResults[i] = EmployeeBulkResult.duplicate(firstIndex + i, email);
+            } else {
+                employee.setId(0L);     //always insert, an id sent by the client would turn persist into a merge with a select
+                newEmployees.add(employee);
+            }
+        }
+
+        employeeRepository.saveAll(newEmployees);
+        entityManager.flush();      //sends the chunk as jdbc batches
+        if (changeOutbox != null) {
+            changeOutbox.recordCreated(newEmployees);       //one more statement for the whole chunk
+        }
+        entityManager.clear();      //and forgets it so a big import doesn't keep every row in the persistence context
+
+        for (int i = 0; i < chunk.size(); i++) {
+            if (chunkResults[i] == null) {
+                Employee employee = chunk.get(i);
+                if (knownEmailFilter != null) {
+                    knownEmailFilter.put(employee.getEmail());
+                }
+                if (searchIndex != null) {
+                    searchIndex.put(employee);      //applied after the bulk transaction commits
+                }
+                chunkResults[i] = EmployeeBulkResult.created(firstIndex + i, employee.getEmail(), employee.getId());
+            }
+            results.add(chunkResults[i]);
+        }
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Employee> getAllEmployees() {
         return employeeRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public EmployeeListVersion getEmployeeListVersion() {
+        return employeeRepository.getListVersion();
+    }
+
+    //readOnly makes hibernate run the session with flush mode MANUAL, nothing is ever flushed on this path
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeSummary> getAllEmployeeSummaries() {
+        return employeeRepository.findAllSummaries();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeePage getEmployeesPage(String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);     //never let a client ask for more than the cap
+        List<Employee> employees = employeeRepository.findByIdGreaterThanOrderByIdAsc(decodeCursor(cursor), PageRequest.of(0, pageSize));
+        //a short page means we reached the end, otherwise hand back the last id as the cursor for the next call
+        String nextCursor = employees.size() < pageSize ? null : encodeCursor(employees.get(employees.size() - 1).getId());
+        return new EmployeePage(employees, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeePage getEmployeesByName(String firstName, String lastName, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<Employee> employees = employeeRepository.findByFirstNameAndLastNameAndIdGreaterThanOrderByIdAsc(
+                firstName, lastName, decodeCursor(cursor), PageRequest.of(0, pageSize));
+        String nextCursor = employees.size() < pageSize ? null : encodeCursor(employees.get(employees.size() - 1).getId());
+        return new EmployeePage(employees, nextCursor);
+    }
+
+    //no transaction here, a search the index answers never takes a connection. the db fallback runs in the repository's own read-only one
+    @Override
+    public List<EmployeeSummary> searchEmployees(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query can't be blank");
+        }
+        int maxResults = Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS);
+        if (searchIndex != null && searchIndex.isReady()) {
+            return searchIndex.search(query, maxResults);
+        }
+        //no index yet, a prefix like on the db gives the same matches only slower
+        return employeeRepository.findByNameOrEmailPrefix(toPrefixPattern(query), PageRequest.of(0, maxResults));
+    }
+
+    static String toPrefixPattern(String query) {
+        String prefix = query.trim().toLowerCase(Locale.ROOT)
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return prefix + "%";
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllEmployees(Consumer<Employee> consumer) {
+        try (Stream<Employee> employees = employeeRepository.streamAll()) {
+            employees.forEach(employee -> {
+                consumer.accept(employee);
+                entityManager.detach(employee);     //drop it from the persistence context so memory stays flat however many rows we stream
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamEmployeesByName(String firstName, String lastName, Consumer<Employee> consumer) {
+        try (Stream<Employee> employees = employeeRepository.streamByName(firstName, lastName)) {
+            employees.forEach(employee -> {
+                consumer.accept(employee);
+                entityManager.detach(employee);
+            });
+        }
+    }
+
+    //no transaction here, a cache hit never takes a connection and the callers waiting on a load in flight don't hold one either
+    @Override
+    @Cacheable(cacheNames = EmployeeCacheConfig.EMPLOYEES_CACHE, key = "#id")   //an empty optional is cached too so repeated 404s don't hit the db
     public Optional<Employee> getEmployeeById(long id) {
-        return employeeRepository.findById(id);
+        //only cache misses get here, when a hot id expires the concurrent misses coalesce into one query
+        try {
+            return employeeLoads.execute(id, () -> fillCache(() -> employeeRepository.findById(id)), singleFlightTimeout);
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("Timed out waiting for employee " + id + " to load", e);
+        }
+    }
+
+    //fills the same cache as getEmployeeById, so the misses are read from the primary too
+    @Override
+    public EmployeeBatchGetResult getEmployeesByIds(List<Long> ids) {
+        if (ids.size() > MAX_BATCH_GET_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_GET_IDS + " ids per request");
+        }
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, Employee> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        //same entries getEmployeeById uses, a cached NullValue means the id is known not to exist
+        for (Long id : distinctIds) {
+            Cache.ValueWrapper cached = employeesCache != null ? employeesCache.get(id) : null;
+            if (cached == null) {
+                misses.add(id);
+            } else if (cached.get() != null) {
+                found.put(id, (Employee) cached.get());
+            }
+        }
+        //only the misses go to the db, a chunk of ids per IN query
+        if (!misses.isEmpty()) {
+            fillCache(() -> {
+                for (int from = 0; from < misses.size(); from += MAX_IN_LIST) {
+                    List<Long> chunk = misses.subList(from, Math.min(from + MAX_IN_LIST, misses.size()));
+                    for (Employee employee : employeeRepository.findAllById(chunk)) {
+                        found.put(employee.getId(), employee);
+                    }
+                    if (employeesCache != null) {
+                        for (Long id : chunk) {
+                            employeesCache.put(id, found.get(id));      //null is stored as NullValue and expires after the negative ttl
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+
+        List<Employee> employees = new ArrayList<>(distinctIds.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            Employee employee = found.get(id);
+            if (employee != null) {
+                employees.add(employee);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new EmployeeBatchGetResult(employees, missingIds);
+    }
+
+    private <T> T fillCache(Supplier<T> load) {
+        return cacheFills != null ? cacheFills.execute(status -> load.get()) : load.get();
     }
 
     @Override
+    @Transactional(timeout = WRITE_TIMEOUT_SECONDS)
+    @CachePut(cacheNames = EmployeeCacheConfig.EMPLOYEES_CACHE, key = "#result.id")
     public Employee updateEmployee(Employee updatedEmployee) {
-        return employeeRepository.save(updatedEmployee);
+        Employee savedEmployee = employeeRepository.save(updatedEmployee);
+        if (changeOutbox != null) {
+            entityManager.flush();      //bumps the version so the event carries the row as it is committed
+            changeOutbox.recordUpdated(savedEmployee);
+        }
+        if (knownEmailFilter != null) {
+            knownEmailFilter.put(savedEmployee.getEmail());     //the email may have changed
+        }
+        if (searchIndex != null) {
+            searchIndex.put(savedEmployee);
+        }
+        return savedEmployee;
+    }
+
+    @Override
+    @Transactional(timeout = WRITE_TIMEOUT_SECONDS)
+    @CacheEvict(cacheNames = EmployeeCacheConfig.EMPLOYEES_CACHE, key = "#id")
+    public boolean patchEmployee(long id, EmployeePatch patch) {
+        if (patch.firstName() == null && patch.lastName() == null && patch.email() == null) {
+            throw new IllegalArgumentException("Nothing to update, send at least one of firstName, lastName or email");
+        }
+        if (isBlankValue(patch.firstName()) || isBlankValue(patch.lastName()) || isBlankValue(patch.email())) {
+            throw new IllegalArgumentException("firstName, lastName and email can't be blank");
+        }
+        int updated;
+        try {
+            updated = employeeRepository.patchEmployee(id, patch.firstName(), patch.lastName(), patch.email(), patch.version());
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateEmail(e)) {
+                throw e;
+            }
+            throw new ResourceNotFoundException("Employee already exists with given email"+patch.email(), e);
+        }
+        if (updated == 0 && patch.version() != null && employeeRepository.existsById(id)) {
+            //only on this failure path we pay for a second query to tell a stale version from a missing id
+            throw new ObjectOptimisticLockingFailureException(Employee.class, id);
+        }
+        if (updated > 0 && changeOutbox != null) {
+            changeOutbox.recordPatched(id, patch);
+        }
+        if (updated > 0 && knownEmailFilter != null && patch.email() != null) {
+            knownEmailFilter.put(patch.email());
+        }
+        if (updated > 0 && searchIndex != null) {
+            searchIndex.patch(id, patch);
+        }
+        return updated > 0;
+    }
+
+    //null means "leave as is" in a patch, but a value that is sent must not be blank
+    private static boolean isBlankValue(String value) {
+        return value != null && value.isBlank();
     }
 
     @Override
-    public void deleteEmployeeById(long id) {
-        employeeRepository.deleteById(id);
+    @Transactional(timeout = WRITE_TIMEOUT_SECONDS)
+    @CacheEvict(cacheNames = EmployeeCacheConfig.EMPLOYEES_CACHE, key = "#id")
+    public boolean deleteEmployeeById(long id) {
+        //deleted emails stay in the known email filter, that only costs an extra findByEmail probe on reuse
+        boolean deleted = employeeRepository.deleteRowById(id) > 0;
+        if (deleted && changeOutbox != null) {
+            changeOutbox.recordDeleted(id);
+        }
+        if (deleted && searchIndex != null) {
+            searchIndex.remove(id);
+        }
+        return deleted;
+    }
+
+    @Override
+    @Transactional(timeout = WRITE_TIMEOUT_SECONDS)
+    @CacheEvict(cacheNames = EmployeeCacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    public int deleteEmployeesByIds(Collection<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        int deleted = 0;
+        //huge IN-lists are slow to parse and can hit driver/packet limits, so big requests go in chunks of one transaction
+        for (int from = 0; from < distinctIds.size(); from += MAX_IN_LIST) {
+            int to = Math.min(from + MAX_IN_LIST, distinctIds.size());
+            List<Long> chunk = distinctIds.subList(from, to);
+            int chunkDeleted = employeeRepository.deleteRowsByIdIn(chunk);
+            if (chunkDeleted > 0 && changeOutbox != null) {
+                //ids that didn't exist get a DELETED event too, a no-op for consumers and cheaper than selecting the ones that did
+                changeOutbox.recordDeleted(chunk);
+            }
+            deleted += chunkDeleted;
+        }
+        if (searchIndex != null) {
+            searchIndex.removeAll(distinctIds);     //ids that didn't exist aren't in the index either
+        }
+        return deleted;
+    }
+
+    //cursor is just the last id seen, base64 encoded so clients treat it as an opaque token
+    static String encodeCursor(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;      //no cursor means start from the first page
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {      //NumberFormatException is an IllegalArgumentException too
+            throw new IllegalArgumentException("Invalid cursor " + cursor, e);
+        }
     }
 }
@@ -0,0 +1,68 @@
+package net.junitpractice.springboottesting.service.impl;
+
+import net.junitpractice.springboottesting.repository.EmployeeRepository;
+import net.junitpractice.springboottesting.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+//in-memory bloom filter of every email in the employees table, lets saveEmployee skip the findByEmail probe for emails that are definitely new
+//it is only a shortcut, the unique index on email is still what guarantees there are no duplicates
+@Component
+@ConditionalOnProperty(name = "employee.email-filter.enabled", havingValue = "true")
+public class KnownEmailFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(KnownEmailFilter.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final BloomFilter filter;
+    private volatile boolean ready;
+
+    public KnownEmailFilter(EmployeeRepository employeeRepository,
+                            @Value("${employee.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                            @Value("${employee.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.employeeRepository = employeeRepository;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        try (Stream<String> emails = employeeRepository.streamAllEmails()) {
+            long count = 0;
+            for (Iterator<String> iterator = emails.iterator(); iterator.hasNext(); count++) {
+                put(iterator.next());
+            }
+            ready = true;
+            log.info("Loaded {} employee emails into the known email filter", count);
+        } catch (RuntimeException e) {
+            //not fatal, the filter just stays not ready and every create keeps probing the db
+            log.warn("Could not load the known email filter, emails will always be checked against the db", e);
+        }
+    }
+
+    public void put(String email) {
+        if (email != null) {
+            filter.put(normalize(email));
+        }
+    }
+
+    //false means the email is definitely not in the table, until the filter is loaded we can't say that about anything
+    public boolean mightContain(String email) {
+        return !ready || email == null || filter.mightContain(normalize(email));
+    }
+
+    //mysql compares emails case insensitively so the filter does the same
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,108 @@
+package net.junitpractice.springboottesting.service.impl;
+
+import net.junitpractice.springboottesting.dto.EmployeeBatchGetResult;
+import net.junitpractice.springboottesting.dto.EmployeePage;
+import net.junitpractice.springboottesting.dto.EmployeeSummary;
+import net.junitpractice.springboottesting.model.Employee;
+import net.junitpractice.springboottesting.model.EmployeeRow;
+import net.junitpractice.springboottesting.repository.ReactiveEmployeeRepository;
+import net.junitpractice.springboottesting.service.ReactiveEmployeeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+//same limits, cursors and result shapes as EmployeeServiceImpl so both profiles answer a request the same way
+@Service
+@Profile("reactive")
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    private ReactiveEmployeeRepository employeeRepository;
+
+    public ReactiveEmployeeServiceImpl(ReactiveEmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    @Override
+    public Flux<Employee> getAllEmployees() {
+        return employeeRepository.streamAll().map(EmployeeRow::toEmployee);
+    }
+
+    @Override
+    public Flux<EmployeeSummary> getAllEmployeeSummaries() {
+        return employeeRepository.streamAll().map(EmployeeRow::toSummary);
+    }
+
+    @Override
+    public Mono<EmployeePage> getEmployeesPage(String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), EmployeeServiceImpl.MAX_PAGE_SIZE);
+        return Mono.defer(() -> toPage(employeeRepository.findPageAfter(EmployeeServiceImpl.decodeCursor(cursor), pageSize), pageSize));
+    }
+
+    @Override
+    public Flux<EmployeeSummary> searchEmployees(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return Flux.error(new IllegalArgumentException("Search query can't be blank"));
+        }
+        int maxResults = Math.min(Math.max(limit, 1), EmployeeServiceImpl.MAX_SEARCH_RESULTS);
+        return employeeRepository.findByNameOrEmailPrefix(EmployeeServiceImpl.toPrefixPattern(query), maxResults)
+                .map(EmployeeRow::toSummary);
+    }
+
+    @Override
+    public Mono<EmployeePage> getEmployeesByName(String firstName, String lastName, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), EmployeeServiceImpl.MAX_PAGE_SIZE);
+        return Mono.defer(() -> toPage(employeeRepository.findByNameAfter(
+                firstName, lastName, EmployeeServiceImpl.decodeCursor(cursor), pageSize), pageSize));
+    }
+
+    @Override
+    public Flux<Employee> streamEmployeesByName(String firstName, String lastName) {
+        return employeeRepository.streamByName(firstName, lastName).map(EmployeeRow::toEmployee);
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeById(long id) {
+        return employeeRepository.findById(id).map(EmployeeRow::toEmployee);
+    }
+
+    //a dashboard asks for all its employees in a few IN queries instead of one round trip per id
+    @Override
+    public Mono<EmployeeBatchGetResult> getEmployeesByIds(List<Long> ids) {
+        if (ids.size() > EmployeeServiceImpl.MAX_BATCH_GET_IDS) {
+            return Mono.error(new IllegalArgumentException("At most " + EmployeeServiceImpl.MAX_BATCH_GET_IDS + " ids per request"));
+        }
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        return Flux.fromIterable(distinctIds)
+                .buffer(EmployeeServiceImpl.MAX_IN_LIST)
+                .concatMap(chunk -> employeeRepository.findAllById(chunk))
+                .collectMap(EmployeeRow::id, EmployeeRow::toEmployee)
+                .map(found -> inRequestOrder(distinctIds, found));
+    }
+
+    private static EmployeeBatchGetResult inRequestOrder(List<Long> distinctIds, Map<Long, Employee> found) {
+        List<Employee> employees = new ArrayList<>(distinctIds.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            Employee employee = found.get(id);
+            if (employee != null) {
+                employees.add(employee);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new EmployeeBatchGetResult(employees, missingIds);
+    }
+
+    //a short page means we reached the end, otherwise the last id is the cursor for the next call
+    private static Mono<EmployeePage> toPage(Flux<EmployeeRow> rows, int pageSize) {
+        return rows.map(EmployeeRow::toEmployee).collectList()
+                .map(employees -> new EmployeePage(employees, employees.size() < pageSize ? null
+                        : EmployeeServiceImpl.encodeCursor(employees.get(employees.size() - 1).getId())));
+    }
+}
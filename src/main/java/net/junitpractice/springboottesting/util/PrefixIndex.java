@@ -0,0 +1,66 @@
+package net.junitpractice.springboottesting.util;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+//thread safe prefix index from terms to ids, terms are kept sorted so a prefix query is a range scan that stops after limit ids
+//reads don't lock, writes are serialized so the term and id maps always agree with each other
+public class PrefixIndex {
+
+    private final ConcurrentSkipListMap<String, Set<Long>> idsByTerm = new ConcurrentSkipListMap<>();
+    private final Map<Long, Set<String>> termsById = new ConcurrentHashMap<>();
+
+    //replaces whatever terms the id had before
+    public synchronized void put(long id, Collection<String> terms) {
+        remove(id);
+        Set<String> distinctTerms = new LinkedHashSet<>(terms);
+        for (String term : distinctTerms) {
+            idsByTerm.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+        termsById.put(id, distinctTerms);
+    }
+
+    public synchronized void remove(long id) {
+        Set<String> terms = termsById.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Set<Long> ids = idsByTerm.get(term);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    idsByTerm.remove(term);     //keep the map free of dead terms so scans don't walk over them
+                }
+            }
+        }
+    }
+
+    //ids with a term starting with prefix, in term order so an exact match comes before the longer terms that extend it
+    public List<Long> search(String prefix, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        Set<Long> result = new LinkedHashSet<>();
+        NavigableMap<String, Set<Long>> range = idsByTerm.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        for (Set<Long> ids : range.values()) {
+            for (Long id : ids) {
+                result.add(id);
+                if (result.size() == limit) {
+                    return List.copyOf(result);
+                }
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    public int size() {
+        return termsById.size();
+    }
+}
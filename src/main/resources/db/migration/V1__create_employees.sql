@@ -0,0 +1,20 @@
+-- the schema as hibernate ddl-auto=update used to create it, databases that already have it are baselined at this version
+create table if not exists employees (
+    id bigint not null,
+    email varchar(255) not null,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    version bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+-- mysql has no sequences, hibernate keeps the pooled employees_seq in a one row table
+create table if not exists employees_seq (
+    next_val bigint
+) engine=InnoDB;
+
+-- hibernate's pooled optimizer treats the value it reads as the top of a block of 50 ids, so it has to be 50 past the highest id
+insert into employees_seq (next_val)
+select coalesce(max(id) + 50, 1) from employees where not exists (select * from employees_seq);
+
+create unique index uk_employees_email on employees (email);
@@ -0,0 +1,2 @@
+-- the name lookups in EmployeeRepository filter on first_name and last_name together, this turns them from a full scan into an index range scan
+create index idx_employees_first_name_last_name on employees (first_name, last_name);
@@ -0,0 +1,13 @@
+-- transactional outbox, every employee write stores its change event here in the same transaction
+-- the auto increment id is the offset consumers of GET /api/employees/changes resume from
+create table employee_outbox (
+    id bigint not null auto_increment,
+    employee_id bigint not null,
+    event_type varchar(16) not null,
+    payload varchar(4000),
+    created_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+-- the relay purges rows older than the retention by age
+create index idx_employee_outbox_created_at on employee_outbox (created_at);
@@ -0,0 +1,2 @@
+-- the database stamps outbox rows in utc so the relay compares them against one clock, not the clocks of every app instance
+alter table employee_outbox modify created_at datetime(6) not null default (utc_timestamp(6));
@@ -0,0 +1,6 @@
+-- databases baselined at V1 never ran its insert, and their employees_seq may still start at 1 below ids that IDENTITY handed out
+-- hibernate's pooled optimizer uses the value it reads as the top of a block of 50 ids, so the next block has to start past max(id)
+insert into employees_seq (next_val)
+select coalesce(max(id) + 50, 1) from employees where not exists (select * from employees_seq);
+
+update employees_seq set next_val = greatest(next_val, (select coalesce(max(id) + 50, 1) from employees));
@@ -0,0 +1,35 @@
+package net.junitpractice.springboottesting.config;
+
+import net.junitpractice.springboottesting.dto.EmployeeChangeEvent;
+import net.junitpractice.springboottesting.dto.EmployeeListVersion;
+import net.junitpractice.springboottesting.dto.EmployeeSummary;
+import net.junitpractice.springboottesting.model.Employee;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeRuntimeHintsTests {
+
+    //Junit test case for the native image hints, what hibernate and jackson reach through reflection is registered
+    @DisplayName("Junit test case for employee runtime hints")
+    @Test
+    public void givenRegistrar_whenRegisterHints_thenReflectiveTypesAndResourcesAreCovered() throws Exception{
+        //given - precondition or setup
+        RuntimeHints hints = new RuntimeHints();
+        //when - action or behaviour that we are going to test
+        new EmployeeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+        //then - verify the output
+        assertThat(RuntimeHintsPredicates.reflection().onType(EmployeeSummary.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(EmployeeListVersion.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(Employee.class.getMethod("setFirstName", String.class))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(EmployeeChangeEvent.class.getMethod("offset"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(Class.forName(EmployeeRuntimeHints.CAFFEINE_CACHING_PROVIDER))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("application.conf")).accepts(hints);
+    }
+}
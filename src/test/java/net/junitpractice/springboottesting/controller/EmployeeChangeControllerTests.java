@@ -0,0 +1,75 @@
+package net.junitpractice.springboottesting.controller;
+
+import net.junitpractice.springboottesting.dto.EmployeeChangeEvent;
+import net.junitpractice.springboottesting.model.EmployeeOutboxEvent;
+import net.junitpractice.springboottesting.service.impl.EmployeeChangeRelay;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.time.Instant;
+import java.util.List;
+
+@WebMvcTest(controllers = EmployeeChangeController.class, properties = "employee.outbox.enabled=true")
+public class EmployeeChangeControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeChangeRelay changeRelay;
+
+    //junit test case for the change stream, it resumes from Last-Event-ID and every batch goes out with the offset of its last change as id
+    @DisplayName("junit test case for stream changes method")
+    @Test
+    public void givenLastEventId_whenStreamChanges_thenResumeAfterItAndSendBatches() throws Exception{
+        //given - precondition or setup
+        ArgumentCaptor<EmployeeChangeRelay.Listener> listener = ArgumentCaptor.forClass(EmployeeChangeRelay.Listener.class);
+        BDDMockito.given(changeRelay.subscribe(ArgumentMatchers.eq(42L), listener.capture()))
+                .willReturn(Mockito.mock(EmployeeChangeRelay.Subscription.class));
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/changes")
+                .header("Last-Event-ID", "42")
+                .param("after", "7")
+                .accept(MediaType.TEXT_EVENT_STREAM));
+        listener.getValue().onEvents(List.of(
+                new EmployeeChangeEvent(43L, 1L, EmployeeOutboxEvent.Type.CREATED, "{\"id\":1}", Instant.now()),
+                new EmployeeChangeEvent(44L, 2L, EmployeeOutboxEvent.Type.DELETED, null, Instant.now())));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.content().string(CoreMatchers.containsString("event:" + EmployeeChangeController.CHANGES_EVENT)))
+                .andExpect(MockMvcResultMatchers.content().string(CoreMatchers.containsString("id:44")))
+                .andExpect(MockMvcResultMatchers.content().string(CoreMatchers.containsString("\"data\":{\"id\":1}")));
+    }
+
+    //junit test case for the change stream when the consumer's offset was already purged from the outbox
+    @DisplayName("junit test case for stream changes method behind the retention")
+    @Test
+    public void givenPurgedOffset_whenStreamChanges_thenSendResyncFirst() throws Exception{
+        //given - precondition or setup
+        BDDMockito.given(changeRelay.isBehindRetention(7L)).willReturn(true);
+        BDDMockito.given(changeRelay.subscribe(ArgumentMatchers.eq(7L), ArgumentMatchers.any()))
+                .willReturn(Mockito.mock(EmployeeChangeRelay.Subscription.class));
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/changes")
+                .param("after", "7")
+                .accept(MediaType.TEXT_EVENT_STREAM));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andExpect(MockMvcResultMatchers.content().string(CoreMatchers.containsString("event:" + EmployeeChangeController.RESYNC_EVENT)));
+    }
+}
@@ -1,6 +1,12 @@
 package net.junitpractice.springboottesting.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import net.junitpractice.springboottesting.dto.EmployeeBatchGetResult;
+import net.junitpractice.springboottesting.dto.EmployeeBulkResult;
+import net.junitpractice.springboottesting.dto.EmployeeListVersion;
+import net.junitpractice.springboottesting.dto.EmployeePage;
+import net.junitpractice.springboottesting.dto.EmployeePatch;
+import net.junitpractice.springboottesting.dto.EmployeeSummary;
 import net.junitpractice.springboottesting.model.Employee;
 import net.junitpractice.springboottesting.service.EmployeeService;
 import org.hamcrest.CoreMatchers;
@@ -8,9 +14,13 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -21,8 +31,10 @@ import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -81,14 +93,49 @@ public class EmployeeControllerTests {
         listOfEmployees.add(Employee.builder().firstName("Rahul").lastName("Dev").email("Kumar@gmail.com").build());
         //below line means that if we make getAllEmployee() method cll then we will get listOfEmployees as response
         BDDMockito.given(employeeService.getAllEmployees()).willReturn(listOfEmployees);
+        BDDMockito.given(employeeService.getEmployeeListVersion()).willReturn(new EmployeeListVersion(2L, 2L, 3L, 0L));
         //when - action or behaviour that we are going to test
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees"));
         //then - verify the output
         response.andExpect(MockMvcResultMatchers.status().isOk())
                 .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"2-2-3-0\""))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.size()",
                         CoreMatchers.is(listOfEmployees.size())));
     }
+    //junit test case for get all employees method with an unchanged list, answered without loading it
+    @DisplayName("junit test case for get all employees method with matching If-None-Match")
+    @Test
+    public void givenUnchangedList_whenGetAllEmployeesWithIfNoneMatch_thenReturnNotModified() throws Exception{
+        //given - precondition or setup
+        BDDMockito.given(employeeService.getEmployeeListVersion()).willReturn(new EmployeeListVersion(2L, 2L, 3L, 0L));
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"2-2-3-0\""));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+        BDDMockito.then(employeeService).should(Mockito.never()).getAllEmployees();
+    }
+    //junit test case for get all employee summaries method
+    @DisplayName("junit test case for get all employee summaries method")
+    @Test
+    public void givenListOfEmployeeSummaries_whenGetAllEmployeeSummaries_thenReturnSummaryList() throws Exception{
+        //given - precondition or setup
+        List<EmployeeSummary> summaries = List.of(
+                new EmployeeSummary(1L, "Avishkar", "Singh", "avishkar@gmail.com"),
+                new EmployeeSummary(2L, "Rahul", "Dev", "Kumar@gmail.com"));
+        BDDMockito.given(employeeService.getAllEmployeeSummaries()).willReturn(summaries);
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/summaries"));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(summaries.size())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].email", CoreMatchers.is("Kumar@gmail.com")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].version").doesNotExist());
+    }
     //Positive scenario - valid employee id
     //junit test case for get employee by id method
     @DisplayName("junit test case for get employee by id method,Positive scenario - valid employee id")
@@ -108,9 +155,25 @@ public class EmployeeControllerTests {
         //then - verify the output
         response.andExpect(MockMvcResultMatchers.status().isOk())
                 .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"0\""))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.firstName",
                         CoreMatchers.is(employee.getFirstName())));
     }
+    //junit test case for get employee by id method when the client already has the current version
+    @DisplayName("junit test case for get employee by id method with matching If-None-Match")
+    @Test
+    public void givenCurrentETag_whenGetEmployeebyId_thenReturnNotModified() throws Exception{
+        //given - precondition or setup
+        Employee employee = Employee.builder().id(1L).firstName("Avishkar").lastName("Singh").email("avishkar@gmail.com").version(3L).build();
+        BDDMockito.given(employeeService.getEmployeeById(1L)).willReturn(Optional.of(employee));
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/{id}",1L)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
 
     //Negative scenario - not a valid employee id
     //junit test case for get employee by id method
@@ -132,6 +195,19 @@ public class EmployeeControllerTests {
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    //junit test case for get employee by id method when the coalesced db load takes too long
+    @DisplayName("junit test case for get employee by id method,Negative scenario - load timed out")
+    @Test
+    public void givenSlowLoad_whenGetEmployeebyId_thenReturnServiceUnavailable() throws Exception{
+        //given - precondition or setup
+        BDDMockito.given(employeeService.getEmployeeById(1L)).willThrow(new QueryTimeoutException("Timed out waiting for employee 1 to load"));
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/{id}",1L));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andDo(MockMvcResultHandlers.print());
+    }
+
     //Positive scenario - valid employee id
     //junit test case for update employee method
     @DisplayName("junit test case for update employee method,Positive scenario - valid employee id")
@@ -167,6 +243,88 @@ public class EmployeeControllerTests {
                         CoreMatchers.is(updatedEmployee.getEmail())));
     }
 
+    //junit test case for update employee method when If-Match carries a version that is no longer current
+    @DisplayName("junit test case for update employee method with stale If-Match")
+    @Test
+    public void givenStaleIfMatch_whenUpdateEmployee_thenReturnConflict() throws Exception{
+        //given - precondition or setup
+        Employee savedEmployee = Employee.builder().id(1L).firstName("Avishkar").lastName("Singh").email("avishkar@gmail.com").version(3L).build();
+        Employee updatedEmployee = Employee.builder().firstName("Ram").lastName("Jadhav").email("ram@gmail.com").version(3L).build();
+        BDDMockito.given(employeeService.getEmployeeById(1L)).willReturn(Optional.of(savedEmployee));
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.put("/api/employees/{id}",1L)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")        //the header wins over the version in the body
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isConflict())
+                .andDo(MockMvcResultHandlers.print());
+        Mockito.verify(employeeService, Mockito.never()).updateEmployee(any(Employee.class));
+    }
+
+    //junit test case for update employee method when the body carries the version the client read
+    @DisplayName("junit test case for update employee method with version in the body")
+    @Test
+    public void givenVersionInBody_whenUpdateEmployee_thenUpdateThatVersion() throws Exception{
+        //given - precondition or setup
+        Employee savedEmployee = Employee.builder().id(1L).firstName("Avishkar").lastName("Singh").email("avishkar@gmail.com").version(3L).build();
+        Employee updatedEmployee = Employee.builder().firstName("Ram").lastName("Jadhav").email("ram@gmail.com").version(3L).build();
+        BDDMockito.given(employeeService.getEmployeeById(1L)).willReturn(Optional.of(savedEmployee));
+        BDDMockito.given(employeeService.updateEmployee(any(Employee.class)))
+                .willAnswer((invocation) -> {
+                    Employee employee = invocation.getArgument(0);
+                    employee.setVersion(employee.getVersion() + 1);
+                    return employee;
+                });
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.put("/api/employees/{id}",1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.firstName", CoreMatchers.is("Ram")));
+    }
+
+    //junit test case for update employee method for clients that send neither a version nor If-Match, the update is unconditional
+    @DisplayName("junit test case for update employee method without a version on an updated row")
+    @Test
+    public void givenNoVersion_whenUpdateEmployeeWithVersionAboveZero_thenUpdate() throws Exception{
+        //given - precondition or setup
+        Employee savedEmployee = Employee.builder().id(1L).firstName("Avishkar").lastName("Singh").email("avishkar@gmail.com").version(3L).build();
+        BDDMockito.given(employeeService.getEmployeeById(1L)).willReturn(Optional.of(savedEmployee));
+        BDDMockito.given(employeeService.updateEmployee(any(Employee.class)))
+                .willAnswer((invocation) -> invocation.getArgument(0));
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.put("/api/employees/{id}",1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Ram\",\"lastName\":\"Jadhav\",\"email\":\"ram@gmail.com\"}"));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.firstName", CoreMatchers.is("Ram")));
+        Mockito.verify(employeeService).updateEmployee(ArgumentMatchers.argThat(employee -> employee.getVersion() == 3L));
+    }
+
+    //junit test case for update employee method when the body carries an old version and there is no If-Match
+    @DisplayName("junit test case for update employee method with stale version in the body")
+    @Test
+    public void givenStaleVersionInBody_whenUpdateEmployee_thenReturnConflict() throws Exception{
+        //given - precondition or setup
+        Employee savedEmployee = Employee.builder().id(1L).firstName("Avishkar").lastName("Singh").email("avishkar@gmail.com").version(3L).build();
+        Employee updatedEmployee = Employee.builder().firstName("Ram").lastName("Jadhav").email("ram@gmail.com").version(1L).build();
+        BDDMockito.given(employeeService.getEmployeeById(1L)).willReturn(Optional.of(savedEmployee));
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.put("/api/employees/{id}",1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isConflict())
+                .andDo(MockMvcResultHandlers.print());
+        Mockito.verify(employeeService, Mockito.never()).updateEmployee(any(Employee.class));
+    }
+
     //Negaive scenario - not a valid employee id
     //junit test case for update employee method
     @DisplayName("junit test case for update employee method,Negative scenario - not a valid employee id")
@@ -201,30 +359,275 @@ public class EmployeeControllerTests {
     @Test
     public void givenEmployeeId_whenDeleteEmployee_thenReturn() throws Exception{
         //given - precondition or setup
-        //stub delete method calls which return void
-        BDDMockito.willDoNothing().given(employeeService).deleteEmployeeById(1L);
+        BDDMockito.given(employeeService.deleteEmployeeById(1L)).willReturn(true);
         //when - action or behaviour that we are going to test
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders.delete("/api/employees/{id}",1L));
         //then - verify the output
-        response.andExpect(MockMvcResultMatchers.status().isOk())
+        response.andExpect(MockMvcResultMatchers.status().isNoContent())
                 .andDo(MockMvcResultHandlers.print());
 
     }
 
+    //junit test case for delete employee method with an id that doesn't exist
+    @DisplayName("junit test case for delete employee method with unknown id")
+    @Test
+    public void givenInvalidEmployeeId_whenDeleteEmployee_thenReturnNotFound() throws Exception{
+        //given - precondition or setup
+        BDDMockito.given(employeeService.deleteEmployeeById(99L)).willReturn(false);
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.delete("/api/employees/{id}",99L));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isNotFound())
+                .andDo(MockMvcResultHandlers.print());
+    }
 
-}
-
-
-
+    //junit test case for bulk delete employees method
+    @DisplayName("junit test case for bulk delete employees method")
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployees_thenReturnDeletedCount() throws Exception{
+        //given - precondition or setup
+        List<Long> ids = List.of(1L, 2L, 99L);
+        BDDMockito.given(employeeService.deleteEmployeesByIds(ids)).willReturn(2);
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/bulk-delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ids)));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.requested", CoreMatchers.is(3)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.deleted", CoreMatchers.is(2)));
+    }
 
+    //junit test case for keyset paginated get employees method
+    @DisplayName("junit test case for get employees page method")
+    @Test
+    public void givenCursorAndSize_whenGetEmployeesPage_thenReturnPageWithNextCursor() throws Exception{
+        //given - precondition or setup
+        List<Employee> listOfEmployees = new ArrayList<>();
+        listOfEmployees.add(Employee.builder().id(3L).firstName("Avishkar").lastName("Singh").email("avishkar@gmail.com").build());
+        listOfEmployees.add(Employee.builder().id(4L).firstName("Rahul").lastName("Dev").email("Kumar@gmail.com").build());
+        BDDMockito.given(employeeService.getEmployeesPage("Mg", 2)).willReturn(new EmployeePage(listOfEmployees, "NA"));
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/page")
+                .param("cursor", "Mg")
+                .param("size", "2"));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()",
+                        CoreMatchers.is(listOfEmployees.size())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor",
+                        CoreMatchers.is("NA")));
+    }
 
+    //junit test case for keyset paginated get employees method with a bad cursor
+    @DisplayName("junit test case for get employees page method,Negative scenario - invalid cursor")
+    @Test
+    public void givenInvalidCursor_whenGetEmployeesPage_thenReturnBadRequest() throws Exception{
+        //given - precondition or setup
+        BDDMockito.given(employeeService.getEmployeesPage("bad", 20)).willThrow(new IllegalArgumentException("Invalid cursor bad"));
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/page")
+                .param("cursor", "bad"));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andDo(MockMvcResultHandlers.print());
+    }
 
+    //junit test case for batch get employees method
+    @DisplayName("junit test case for batch get employees method")
+    @Test
+    public void givenEmployeeIds_whenGetEmployeesByIds_thenReturnEmployeesAndMissingIds() throws Exception{
+        //given - precondition or setup
+        List<Long> ids = List.of(3L, 99L);
+        Employee employee = Employee.builder().id(3L).firstName("Avishkar").lastName("Singh").email("avishkar@gmail.com").build();
+        BDDMockito.given(employeeService.getEmployeesByIds(ids)).willReturn(new EmployeeBatchGetResult(List.of(employee), List.of(99L)));
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/_batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ids)));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.employees.size()", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.employees[0].id", CoreMatchers.is(3)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.missingIds[0]", CoreMatchers.is(99)));
+    }
 
+    //junit test case for prefix search of employees
+    @DisplayName("junit test case for search employees method")
+    @Test
+    public void givenQuery_whenSearchEmployees_thenReturnMatchingEmployees() throws Exception{
+        //given - precondition or setup
+        List<EmployeeSummary> hits = List.of(new EmployeeSummary(3L, "Avishkar", "Singh", "avishkar@gmail.com"));
+        BDDMockito.given(employeeService.searchEmployees("avi", 5)).willReturn(hits);
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/search")
+                .param("q", "avi")
+                .param("limit", "5"));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].firstName", CoreMatchers.is("Avishkar")));
+    }
 
+    //junit test case for streaming all employees as ndjson
+    @DisplayName("junit test case for stream all employees method")
+    @Test
+    public void givenListOfEmployees_whenStreamAllEmployees_thenReturnOneJsonObjectPerLine() throws Exception{
+        //given - precondition or setup
+        List<Employee> listOfEmployees = new ArrayList<>();
+        listOfEmployees.add(Employee.builder().id(1L).firstName("Avishkar").lastName("Singh").email("avishkar@gmail.com").build());
+        listOfEmployees.add(Employee.builder().id(2L).firstName("Rahul").lastName("Dev").email("Kumar@gmail.com").build());
+        BDDMockito.willAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            listOfEmployees.forEach(consumer);
+            return null;
+        }).given(employeeService).streamAllEmployees(ArgumentMatchers.any());
+        //when - action or behaviour that we are going to test
+        //streaming response body is written asynchronously so we have to dispatch the async result
+        ResultActions started = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/stream"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted());
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(started.andReturn()));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/x-ndjson"));
+        String[] lines = response.andReturn().getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], Employee.class).getFirstName()).isEqualTo("Avishkar");
+        assertThat(objectMapper.readValue(lines[1], Employee.class).getFirstName()).isEqualTo("Rahul");
+    }
 
+    //junit test case for streaming everyone with a name as ndjson
+    @DisplayName("junit test case for stream employees by name method")
+    @Test
+    public void givenEmployeesSharingName_whenStreamEmployeesByName_thenReturnOneJsonObjectPerLine() throws Exception{
+        //given - precondition or setup
+        List<Employee> listOfEmployees = new ArrayList<>();
+        listOfEmployees.add(Employee.builder().id(1L).firstName("Rahul").lastName("Dev").email("rahul@gmail.com").build());
+        listOfEmployees.add(Employee.builder().id(2L).firstName("Rahul").lastName("Dev").email("rahul.dev@gmail.com").build());
+        BDDMockito.willAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(2);
+            listOfEmployees.forEach(consumer);
+            return null;
+        }).given(employeeService).streamEmployeesByName(ArgumentMatchers.eq("Rahul"), ArgumentMatchers.eq("Dev"), ArgumentMatchers.any());
+        //when - action or behaviour that we are going to test
+        ResultActions started = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/by-name/stream")
+                        .param("firstName", "Rahul")
+                        .param("lastName", "Dev"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted());
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(started.andReturn()));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk());
+        String[] lines = response.andReturn().getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[1], Employee.class).getEmail()).isEqualTo("rahul.dev@gmail.com");
+    }
 
+    //junit test case for bulk create employees method with a json array
+    @DisplayName("junit test case for bulk create employees method with json array")
+    @Test
+    public void givenListOfEmployees_whenCreateEmployees_thenReturnPerRowResults() throws Exception{
+        //given - precondition or setup
+        List<Employee> listOfEmployees = new ArrayList<>();
+        listOfEmployees.add(Employee.builder().firstName("Avishkar").lastName("Singh").email("avishkar@gmail.com").build());
+        listOfEmployees.add(Employee.builder().firstName("Rahul").lastName("Dev").email("avishkar@gmail.com").build());
+        BDDMockito.given(employeeService.saveAllEmployees(ArgumentMatchers.any())).willAnswer(invocation -> {
+            Iterator<Employee> employees = invocation.getArgument(0);
+            List<EmployeeBulkResult> results = new ArrayList<>();
+            results.add(EmployeeBulkResult.created(0, employees.next().getEmail(), 1L));
+            results.add(EmployeeBulkResult.duplicate(1, employees.next().getEmail()));
+            return results;
+        });
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(listOfEmployees)));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status", CoreMatchers.is("CREATED")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status", CoreMatchers.is("DUPLICATE")));
+    }
 
+    //junit test case for bulk create employees method with a ndjson body
+    @DisplayName("junit test case for bulk create employees method with ndjson stream")
+    @Test
+    public void givenNdjsonEmployees_whenCreateEmployees_thenReadEveryLine() throws Exception{
+        //given - precondition or setup
+        String body = objectMapper.writeValueAsString(Employee.builder().firstName("Avishkar").lastName("Singh").email("avishkar@gmail.com").build())
+                + "\n" + objectMapper.writeValueAsString(Employee.builder().firstName("Rahul").lastName("Dev").email("rahul@gmail.com").build())
+                + "\n";
+        BDDMockito.given(employeeService.saveAllEmployees(ArgumentMatchers.any())).willAnswer(invocation -> {
+            Iterator<Employee> employees = invocation.getArgument(0);
+            List<EmployeeBulkResult> results = new ArrayList<>();
+            while (employees.hasNext()) {
+                Employee employee = employees.next();
+                results.add(EmployeeBulkResult.created(results.size(), employee.getEmail(), results.size() + 1L));
+            }
+            return results;
+        });
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].email", CoreMatchers.is("rahul@gmail.com")));
+    }
 
+    //junit test case for patch employee method
+    @DisplayName("junit test case for patch employee method")
+    @Test
+    public void givenEmployeePatch_whenPatchEmployee_thenReturnNoContent() throws Exception{
+        //given - precondition or setup
+        EmployeePatch patch = new EmployeePatch("Ravi", null, null, 0L);
+        BDDMockito.given(employeeService.patchEmployee(1L, patch)).willReturn(true);
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.patch("/api/employees/{id}", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patch)));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isNoContent())
+                .andDo(MockMvcResultHandlers.print());
+    }
 
+    //junit test case for patch employee method with an id that doesn't exist
+    @DisplayName("junit test case for patch employee method with unknown id")
+    @Test
+    public void givenUnknownEmployeeId_whenPatchEmployee_thenReturnNotFound() throws Exception{
+        //given - precondition or setup
+        EmployeePatch patch = new EmployeePatch("Ravi", null, null, null);
+        BDDMockito.given(employeeService.patchEmployee(99L, patch)).willReturn(false);
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.patch("/api/employees/{id}", 99L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patch)));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isNotFound())
+                .andDo(MockMvcResultHandlers.print());
+    }
 
+    //junit test case for patch employee method with a stale version
+    @DisplayName("junit test case for patch employee method with stale version")
+    @Test
+    public void givenStaleVersion_whenPatchEmployee_thenReturnConflict() throws Exception{
+        //given - precondition or setup
+        EmployeePatch patch = new EmployeePatch("Ravi", null, null, 3L);
+        BDDMockito.given(employeeService.patchEmployee(1L, patch))
+                .willThrow(new ObjectOptimisticLockingFailureException(Employee.class, 1L));
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.patch("/api/employees/{id}", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patch)));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isConflict())
+                .andDo(MockMvcResultHandlers.print());
+    }
 
+}
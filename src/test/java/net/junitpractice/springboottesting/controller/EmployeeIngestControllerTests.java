@@ -0,0 +1,104 @@
+package net.junitpractice.springboottesting.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.junitpractice.springboottesting.dto.EmployeeIngestStatus;
+import net.junitpractice.springboottesting.model.Employee;
+import net.junitpractice.springboottesting.service.impl.EmployeeIngestQueue;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.Optional;
+
+@WebMvcTest(controllers = EmployeeIngestController.class, properties = "employee.ingest.enabled=true")
+public class EmployeeIngestControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeIngestQueue ingestQueue;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    //junit test case for async create, queued employees get 202 and a tracking id
+    @DisplayName("junit test case for ingest employee method")
+    @Test
+    public void givenEmployeeObject_whenIngestEmployee_thenReturnAccepted() throws Exception{
+        //given - precondition or setup
+        Employee employee = Employee.builder().firstName("Avishkar").lastName("Singh").email("avishkar@gmail.com").build();
+        BDDMockito.given(ingestQueue.offer(ArgumentMatchers.any(Employee.class))).willReturn(Optional.of("abc"));
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/ingest")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.LOCATION, "/api/employees/ingest/abc"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.trackingId", CoreMatchers.is("abc")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.state", CoreMatchers.is("QUEUED")));
+    }
+
+    //junit test case for async create when the queue is full
+    @DisplayName("junit test case for ingest employee method with full queue")
+    @Test
+    public void givenFullQueue_whenIngestEmployee_thenReturnTooManyRequests() throws Exception{
+        //given - precondition or setup
+        Employee employee = Employee.builder().firstName("Avishkar").lastName("Singh").email("avishkar@gmail.com").build();
+        BDDMockito.given(ingestQueue.offer(ArgumentMatchers.any(Employee.class))).willReturn(Optional.empty());
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/ingest")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isTooManyRequests())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    //junit test case for async create with a missing field, rejected before it is queued
+    @DisplayName("junit test case for ingest employee method with invalid employee")
+    @Test
+    public void givenEmployeeWithoutEmail_whenIngestEmployee_thenReturnBadRequest() throws Exception{
+        //given - precondition or setup
+        Employee employee = Employee.builder().firstName("Avishkar").lastName("Singh").build();
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.post("/api/employees/ingest")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andDo(MockMvcResultHandlers.print());
+        BDDMockito.then(ingestQueue).shouldHaveNoInteractions();
+    }
+
+    //junit test case for the ingest status of a tracking id
+    @DisplayName("junit test case for get ingest status method")
+    @Test
+    public void givenTrackingId_whenGetIngestStatus_thenReturnStatus() throws Exception{
+        //given - precondition or setup
+        BDDMockito.given(ingestQueue.getStatus("abc"))
+                .willReturn(Optional.of(new EmployeeIngestStatus("abc", EmployeeIngestStatus.State.CREATED, 7L, null)));
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(MockMvcRequestBuilders.get("/api/employees/ingest/{trackingId}", "abc"));
+        //then - verify the output
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.state", CoreMatchers.is("CREATED")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id", CoreMatchers.is(7)));
+    }
+}
@@ -0,0 +1,114 @@
+package net.junitpractice.springboottesting.controller;
+
+import net.junitpractice.springboottesting.dto.EmployeeBatchGetResult;
+import net.junitpractice.springboottesting.model.Employee;
+import net.junitpractice.springboottesting.service.ReactiveEmployeeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@WebFluxTest(ReactiveEmployeeController.class)
+@ActiveProfiles("reactive")
+public class ReactiveEmployeeControllerTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveEmployeeService employeeService;
+
+    //junit test case for reactive get employee by id method
+    @DisplayName("junit test case for reactive get employee by id method")
+    @Test
+    public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject(){
+        //given - precondition or setup
+        Employee employee = Employee.builder().id(1L).firstName("Avishkar").lastName("Singh").email("avishkar@gmail.com").build();
+        BDDMockito.given(employeeService.getEmployeeById(1L)).willReturn(Mono.just(employee));
+        //when - action or behaviour that we are going to test
+        //then - verify the output
+        webTestClient.get().uri("/api/employees/{id}", 1L)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo("Avishkar")
+                .jsonPath("$.email").isEqualTo("avishkar@gmail.com");
+    }
+
+    //junit test case for reactive get employee by id method with an id that doesn't exist
+    @DisplayName("junit test case for reactive get employee by id method with unknown id")
+    @Test
+    public void givenInvalidEmployeeId_whenGetEmployeeById_thenReturnNotFound(){
+        //given - precondition or setup
+        BDDMockito.given(employeeService.getEmployeeById(99L)).willReturn(Mono.empty());
+        //when - action or behaviour that we are going to test
+        //then - verify the output
+        webTestClient.get().uri("/api/employees/{id}", 99L)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    //junit test case for reactive stream all employees method, one json object per line
+    @DisplayName("junit test case for reactive stream all employees method")
+    @Test
+    public void givenListOfEmployees_whenStreamAllEmployees_thenReturnNdjson(){
+        //given - precondition or setup
+        BDDMockito.given(employeeService.getAllEmployees()).willReturn(Flux.just(
+                Employee.builder().id(1L).firstName("Avishkar").lastName("Singh").email("avishkar@gmail.com").build(),
+                Employee.builder().id(2L).firstName("Rahul").lastName("Dev").email("Kumar@gmail.com").build()));
+        //when - action or behaviour that we are going to test
+        //then - verify the output
+        webTestClient.get().uri("/api/employees/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Employee.class).hasSize(2);
+    }
+
+    //junit test case for reactive batch lookup of employees, same path and body as the servlet api
+    @DisplayName("junit test case for reactive get employees by ids method")
+    @Test
+    public void givenEmployeeIds_whenGetEmployeesByIds_thenReturnEmployeesAndMissingIds(){
+        //given - precondition or setup
+        Employee employee = Employee.builder().id(1L).firstName("Avishkar").lastName("Singh").email("avishkar@gmail.com").build();
+        BDDMockito.given(employeeService.getEmployeesByIds(List.of(1L, 2L)))
+                .willReturn(Mono.just(new EmployeeBatchGetResult(List.of(employee), List.of(2L))));
+        //when - action or behaviour that we are going to test
+        //then - verify the output
+        webTestClient.post().uri("/api/employees/_batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(1L, 2L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.employees.size()").isEqualTo(1)
+                .jsonPath("$.employees[0].id").isEqualTo(1)
+                .jsonPath("$.missingIds[0]").isEqualTo(2);
+    }
+
+    //junit test case for reactive get employee by id method with the etag the client already has
+    @DisplayName("junit test case for reactive get employee by id method with If-None-Match")
+    @Test
+    public void givenCurrentETag_whenGetEmployeeById_thenReturnNotModified(){
+        //given - precondition or setup
+        Employee employee = Employee.builder().id(1L).firstName("Avishkar").lastName("Singh").email("avishkar@gmail.com").version(4L).build();
+        BDDMockito.given(employeeService.getEmployeeById(1L)).willReturn(Mono.just(employee));
+        //when - action or behaviour that we are going to test
+        //then - verify the output
+        webTestClient.get().uri("/api/employees/{id}", 1L)
+                .header(HttpHeaders.IF_NONE_MATCH, EmployeeController.employeeETag(employee))
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+}
@@ -1,13 +1,25 @@
 package net.junitpractice.springboottesting.integration;
 
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.MySQLContainer;
 
+//one mysql container for the whole test run, started once per jvm and never stopped by the tests
+//with testcontainers.reuse.enable=true in ~/.testcontainers.properties the same container is also kept across runs,
+//flyway then finds the schema and the seed already applied and the suite starts without any db setup
+//SEED_ROWS employees with ids 1..SEED_ROWS are loaded once by db/seed/R__seed_employees.sql, tests that need
+//an empty table delete them inside their own transaction so the rollback brings them back for the next test
+@ExtendWith(TestClassTimingExtension.class)
 public abstract class AbstractContainerBaseTest {
+    public static final String MYSQL_IMAGE = "mysql:8.0.36";      //pinned, :latest changes under us and gets pulled again
+    public static final int SEED_ROWS = 1_000;
     static final MySQLContainer MY_SQL_CONTAINER;
     static{
-        MY_SQL_CONTAINER = new MySQLContainer("mysql:latest");
+        MY_SQL_CONTAINER = new MySQLContainer(MYSQL_IMAGE);
+        MY_SQL_CONTAINER.withReuse(true)
+                //a throwaway test database doesn't need durable commits or a binlog
+                .withCommand("--skip-log-bin", "--innodb-flush-log-at-trx-commit=0");
         MY_SQL_CONTAINER.start();
     }
 
@@ -16,5 +28,6 @@ public abstract class AbstractContainerBaseTest {
         registry.add("spring.datasource.url",MY_SQL_CONTAINER::getJdbcUrl);       //take these properties from application.properties file
         registry.add("spring.datasource.username",MY_SQL_CONTAINER::getUsername);
         registry.add("spring.datasource.password",MY_SQL_CONTAINER::getPassword);
+        registry.add("spring.flyway.locations", () -> "classpath:db/migration,classpath:db/seed");
     }
 }
@@ -16,6 +16,7 @@ import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.annotation.Transactional;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.util.ArrayList;
@@ -24,6 +25,7 @@ import java.util.List;
 @Testcontainers
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)     //random port because it will start embedded server on random port
 @AutoConfigureMockMvc           ///because we need to mock rest api so auto configure them
+@Transactional                  //mockmvc runs the request on the test thread, so the controller joins the test transaction and everything is rolled back afterwards
 public class EmployeeControllerIT extends AbstractContainerBaseTest {
     //mysql container object
 
@@ -38,7 +40,7 @@ public class EmployeeControllerIT extends AbstractContainerBaseTest {
 
     @BeforeEach
     void setup(){
-        employeeRepository.deleteAll();     //in order to keep clean setup for each junit test case we will delete every record from our table
+        employeeRepository.deleteAllInBatch();     //one delete statement inside the test transaction, the rollback puts the shared seed rows back
     }
 
     //junit test case for create employee method
@@ -197,7 +199,7 @@ public class EmployeeControllerIT extends AbstractContainerBaseTest {
         //when - action or behaviour that we are going to test
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders.delete("/api/employees/{id}",savedEmployee.getId()));
         //then - verify the output
-        response.andExpect(MockMvcResultMatchers.status().isOk())
+        response.andExpect(MockMvcResultMatchers.status().isNoContent())
                 .andDo(MockMvcResultHandlers.print());
 
     }
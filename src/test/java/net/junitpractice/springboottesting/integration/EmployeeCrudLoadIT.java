@@ -0,0 +1,223 @@
+package net.junitpractice.springboottesting.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.junitpractice.springboottesting.model.Employee;
+import net.junitpractice.springboottesting.repository.EmployeeRepository;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//mixed crud load against /api/employees with latency budgets, run with mvn -Pload-test verify
+//every client sends on a fixed schedule and latency is measured from when the request was due, not from when it went out,
+//so a stalled server shows up in the percentiles instead of just slowing the clients down (coordinated omission)
+//budgets and load shape come from system properties, the load-test profile in pom.xml sets the defaults
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class EmployeeCrudLoadIT extends AbstractContainerBaseTest {
+
+    static final int CLIENTS = Integer.getInteger("load.clients", 50);
+    static final int TARGET_RPS = Integer.getInteger("load.target-rps", 500);
+    static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration-seconds", 30));
+    static final long P99_BUDGET_MILLIS = Long.getLong("load.p99-budget-ms", 250);
+    static final long MIN_THROUGHPUT = Long.getLong("load.min-throughput", 400);
+    //share of the requests per operation, in percent
+    enum Operation {
+        GET_BY_ID(50), GET_PAGE(20), CREATE(15), PATCH(10), DELETE(5);
+
+        final int percent;
+
+        Operation(int percent) {
+            this.percent = percent;
+        }
+
+        static Operation pick(int roll) {
+            for (Operation operation : values()) {
+                roll -= operation.percent;
+                if (roll < 0) {
+                    return operation;
+                }
+            }
+            return GET_BY_ID;
+        }
+    }
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Histogram overall = newHistogram();
+    private final AtomicLong failed = new AtomicLong();
+    //the requests commit for real, whatever the clients created and didn't delete again is removed after the test
+    private final Queue<Long> leftoverIds = new ConcurrentLinkedQueue<>();
+    //the shared seed rows, only read so they stay intact for the other tests
+    private final List<Long> seededIds = LongStream.rangeClosed(1, SEED_ROWS).boxed().toList();
+
+    @BeforeEach
+    void setup(){
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, newHistogram());
+        }
+    }
+
+    @AfterEach
+    void cleanup(){
+        employeeRepository.deleteAllByIdInBatch(leftoverIds);
+    }
+
+    @DisplayName("load test for mixed crud on the employee endpoints with latency budgets")
+    @Test
+    public void givenMixedCrudLoad_whenRunForDuration_thenStayWithinLatencyAndThroughputBudgets() throws Exception{
+        //given - precondition or setup
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(CLIENTS);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long elapsedNanos;
+        try {
+            HttpClient client = HttpClient.newBuilder().executor(httpExecutor).build();
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) * CLIENTS / TARGET_RPS;
+            long start = System.nanoTime();
+            long deadline = start + DURATION.toNanos();
+            //when - action or behaviour that we are going to test
+            for (int i = 0; i < CLIENTS; i++) {
+                long firstDue = start + intervalNanos * i / CLIENTS;       //spread the clients over one interval
+                clients.execute(() -> runClient(client, firstDue, intervalNanos, deadline));
+            }
+            clients.shutdown();
+            assertThat(clients.awaitTermination(DURATION.toSeconds() + 60, TimeUnit.SECONDS)).isTrue();
+            elapsedNanos = System.nanoTime() - start;      //late requests run past the deadline, the nominal duration would overstate the rate
+        } finally {
+            clients.shutdownNow();
+            httpExecutor.shutdownNow();
+        }
+        //then - verify the output
+        double throughput = overall.getTotalCount() / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+        long p99Millis = TimeUnit.MICROSECONDS.toMillis(overall.getValueAtPercentile(99));
+        report(throughput);
+        assertThat(failed.get()).as("failed requests").isZero();
+        assertThat(p99Millis).as("p99 latency in ms").isLessThanOrEqualTo(P99_BUDGET_MILLIS);
+        assertThat(throughput).as("requests per second").isGreaterThanOrEqualTo(MIN_THROUGHPUT);
+    }
+
+    private void runClient(HttpClient client, long firstDue, long intervalNanos, long deadline) {
+        Deque<Long> createdIds = new ArrayDeque<>();        //only the ids this client created get patched or deleted
+        for (long due = firstDue; due < deadline; due += intervalNanos) {
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = Operation.pick(ThreadLocalRandom.current().nextInt(100));
+            if ((operation == Operation.PATCH || operation == Operation.DELETE) && createdIds.isEmpty()) {
+                operation = Operation.CREATE;
+            }
+            try {
+                send(client, operation, createdIds);
+            } catch (Exception e) {
+                failed.incrementAndGet();
+            }
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due);
+            latencies.get(operation).recordValue(micros);
+            overall.recordValue(micros);
+        }
+        leftoverIds.addAll(createdIds);
+    }
+
+    private void send(HttpClient client, Operation operation, Deque<Long> createdIds) throws IOException, InterruptedException {
+        String base = "http://localhost:" + port + "/api/employees";
+        switch (operation) {
+            case GET_BY_ID -> expect(client.send(HttpRequest.newBuilder(URI.create(base + "/" + randomSeededId())).build(),
+                    HttpResponse.BodyHandlers.discarding()), 200);
+            case GET_PAGE -> expect(client.send(HttpRequest.newBuilder(URI.create(base + "/page?size=20")).build(),
+                    HttpResponse.BodyHandlers.discarding()), 200);
+            case CREATE -> {
+                long n = ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
+                String body = objectMapper.writeValueAsString(
+                        Employee.builder().firstName("Load").lastName("Client").email("load" + n + "@gmail.com").build());
+                HttpResponse<String> response = client.send(json(HttpRequest.newBuilder(URI.create(base))).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                        HttpResponse.BodyHandlers.ofString());
+                expect(response, 201);
+                createdIds.add(objectMapper.readValue(response.body(), Employee.class).getId());
+            }
+            case PATCH -> {
+                String body = "{\"firstName\":\"Patched" + ThreadLocalRandom.current().nextInt(1_000) + "\"}";
+                expect(client.send(json(HttpRequest.newBuilder(URI.create(base + "/" + createdIds.peekLast())))
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.discarding()), 204);
+            }
+            case DELETE -> expect(client.send(HttpRequest.newBuilder(URI.create(base + "/" + createdIds.pollFirst())).DELETE().build(),
+                    HttpResponse.BodyHandlers.discarding()), 204);
+        }
+    }
+
+    private static HttpRequest.Builder json(HttpRequest.Builder builder) {
+        return builder.header("Content-Type", "application/json");
+    }
+
+    private long randomSeededId() {
+        return seededIds.get(ThreadLocalRandom.current().nextInt(seededIds.size()));
+    }
+
+    private void expect(HttpResponse<?> response, int status) {
+        if (response.statusCode() != status) {
+            failed.incrementAndGet();
+        }
+    }
+
+    //one line per operation on stdout, the full overall distribution goes to target/load-test for plotting
+    private void report(double throughput) throws IOException {
+        System.out.printf("%s: %d clients, target %d requests/s, %.1f requests/s, %d failed%n",
+                getClass().getSimpleName(), CLIENTS, TARGET_RPS, throughput, failed.get());
+        for (Map.Entry<Operation, Histogram> entry : latencies.entrySet()) {
+            Histogram histogram = entry.getValue();
+            System.out.printf("  %-10s count=%d p50=%.1fms p99=%.1fms p99.9=%.1fms max=%.1fms%n", entry.getKey(), histogram.getTotalCount(),
+                    histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0, histogram.getMaxValue() / 1000.0);
+        }
+        Path out = Path.of("target", "load-test", getClass().getSimpleName() + ".hgrm");
+        Files.createDirectories(out.getParent());
+        try (PrintStream stream = new PrintStream(Files.newOutputStream(out))) {
+            overall.outputPercentileDistribution(stream, 1000.0);       //microseconds recorded, milliseconds printed
+        }
+    }
+
+    //microseconds at 3 significant digits, auto resizing so a very slow request can't overflow it
+    private static Histogram newHistogram() {
+        return new ConcurrentHistogram(3);
+    }
+}
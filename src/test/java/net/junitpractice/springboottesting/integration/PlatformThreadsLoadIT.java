@@ -0,0 +1,72 @@
+package net.junitpractice.springboottesting.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//drives more concurrent clients than tomcat has platform threads against a db backed endpoint and prints the throughput
+//VirtualThreadsLoadIT runs the same load with the virtual-threads profile so the two numbers can be compared
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class PlatformThreadsLoadIT extends AbstractContainerBaseTest {
+
+    static final int CLIENTS = 400;                 //twice the 200 default tomcat workers
+    static final Duration DURATION = Duration.ofSeconds(20);
+
+    @LocalServerPort
+    int port;
+
+    //reads the shared seed rows of AbstractContainerBaseTest, nothing to set up per test
+
+    @DisplayName("load test for the employee page endpoint")
+    @Test
+    public void givenConcurrentClients_whenGetEmployeesPage_thenReportThroughput() throws Exception{
+        //given - precondition or setup
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(CLIENTS);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        AtomicLong ok = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        try {
+            HttpClient client = HttpClient.newBuilder().executor(httpExecutor).build();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/employees/page?size=50")).build();
+            long deadline = System.nanoTime() + DURATION.toNanos();
+            //when - action or behaviour that we are going to test
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            (response.statusCode() == 200 ? ok : failed).incrementAndGet();
+                        } catch (Exception e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            clients.shutdown();
+            assertThat(clients.awaitTermination(DURATION.toSeconds() + 60, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            clients.shutdownNow();
+            httpExecutor.shutdownNow();
+        }
+        //then - verify the output
+        System.out.printf("%s: %d clients, %.1f requests/s, %d failed%n",
+                getClass().getSimpleName(), CLIENTS, ok.get() / (double) DURATION.toSeconds(), failed.get());
+        assertThat(ok.get()).isGreaterThan(0);
+        assertThat(failed.get()).isZero();
+    }
+}
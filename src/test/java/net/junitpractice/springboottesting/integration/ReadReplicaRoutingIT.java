@@ -0,0 +1,139 @@
+package net.junitpractice.springboottesting.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.junitpractice.springboottesting.model.Employee;
+import net.junitpractice.springboottesting.repository.EmployeeRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//read/write splitting against two independent mysql containers, there is no replication between them
+//so a row that only exists in one of them shows which database a request was routed to
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("read-replica")
+public class ReadReplicaRoutingIT extends AbstractContainerBaseTest {
+
+    static final MySQLContainer REPLICA;
+    static{
+        REPLICA = new MySQLContainer(MYSQL_IMAGE);
+        REPLICA.start();
+        Flyway.configure()
+                .dataSource(REPLICA.getJdbcUrl(), REPLICA.getUsername(), REPLICA.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        try (Connection connection = DriverManager.getConnection(REPLICA.getJdbcUrl(), REPLICA.getUsername(), REPLICA.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("insert into employees (id, first_name, last_name, email, version) values (900001, 'Replica', 'Only', 'replica@gmail.com', 0)");
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not seed the replica", e);
+        }
+    }
+
+    @DynamicPropertySource
+    public static void replicaProperties(DynamicPropertyRegistry registry){
+        registry.add("employee.datasource.replica.url", REPLICA::getJdbcUrl);
+        registry.add("employee.datasource.replica.username", REPLICA::getUsername);
+        registry.add("employee.datasource.replica.password", REPLICA::getPassword);
+    }
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final List<Long> createdIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanup(){
+        employeeRepository.deleteAllByIdInBatch(createdIds);        //a write, so it runs on the primary
+    }
+
+    //junit test case for read-only service methods being served by the replica
+    @DisplayName("junit test case for reads going to the replica")
+    @Test
+    public void givenRowOnlyOnReplica_whenGetEmployeesByName_thenReadFromReplica() throws Exception{
+        //when - action or behaviour that we are going to test
+        HttpResponse<String> response = get("/api/employees/by-name?firstName=Replica&lastName=Only", null);
+        //then - verify the output
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).contains("replica@gmail.com");
+    }
+
+    //junit test case for writes going to the primary and read-your-writes through the cookie
+    @DisplayName("junit test case for writes going to the primary with read-your-writes")
+    @Test
+    public void givenCreatedEmployee_whenReadWithAndWithoutCookie_thenOnlyStickyReadSeesIt() throws Exception{
+        //given - precondition or setup
+        String body = objectMapper.writeValueAsString(Employee.builder().firstName("Primary").lastName("Write").email("primary@gmail.com").build());
+        HttpResponse<String> created = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/employees"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+        createdIds.add(objectMapper.readValue(created.body(), Employee.class).getId());
+        String cookie = created.headers().firstValue("Set-Cookie").orElseThrow().split(";")[0];
+        //when - action or behaviour that we are going to test
+        HttpResponse<String> fromReplica = get("/api/employees/by-name?firstName=Primary&lastName=Write", null);
+        HttpResponse<String> fromPrimary = get("/api/employees/by-name?firstName=Primary&lastName=Write", cookie);
+        //then - verify the output
+        assertThat(created.statusCode()).isEqualTo(201);
+        assertThat(fromReplica.body()).doesNotContain("primary@gmail.com");
+        assertThat(fromPrimary.body()).contains("primary@gmail.com");
+    }
+
+    //junit test case for the employee cache, a miss after a write is loaded from the primary even without the cookie
+    @DisplayName("junit test case for cache fills after a patch coming from the primary")
+    @Test
+    public void givenPatchedEmployee_whenGetByIdWithoutCookie_thenReturnPatchedRow() throws Exception{
+        //given - precondition or setup
+        String body = objectMapper.writeValueAsString(Employee.builder().firstName("Cached").lastName("Write").email("cached@gmail.com").build());
+        HttpResponse<String> created = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/employees"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+        long id = objectMapper.readValue(created.body(), Employee.class).getId();
+        createdIds.add(id);
+        HttpResponse<String> patched = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/employees/" + id))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"firstName\":\"Patched\"}")).build(), HttpResponse.BodyHandlers.ofString());
+        //when - action or behaviour that we are going to test
+        HttpResponse<String> response = get("/api/employees/" + id, null);     //the patch evicted the entry, this is a cache miss
+        //then - verify the output
+        assertThat(patched.statusCode()).isEqualTo(204);
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(objectMapper.readValue(response.body(), Employee.class).getFirstName()).isEqualTo("Patched");
+    }
+
+    private HttpResponse<String> get(String path, String cookie) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (cookie != null) {
+            request.header("Cookie", cookie);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,58 @@
+package net.junitpractice.springboottesting.integration;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+//wall time per test class split into time spent in test methods and everything else (spring context startup, container, fixtures)
+//one line per class is printed and appended to target/test-timings.csv so slow classes are easy to spot in ci
+public class TestClassTimingExtension implements BeforeAllCallback, AfterAllCallback, BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    static final Path REPORT = Path.of("target", "test-timings.csv");
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(TestClassTimingExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getStore(NAMESPACE).put("classStart", System.nanoTime());
+        context.getStore(NAMESPACE).put("testNanos", new long[1]);
+    }
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put("testStart", System.nanoTime());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        long elapsed = System.nanoTime() - context.getStore(NAMESPACE).get("testStart", Long.class);
+        //the class level store is the parent of the method level one
+        context.getParent().orElseThrow().getStore(NAMESPACE).get("testNanos", long[].class)[0] += elapsed;
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - context.getStore(NAMESPACE).get("classStart", Long.class));
+        long testMillis = TimeUnit.NANOSECONDS.toMillis(context.getStore(NAMESPACE).get("testNanos", long[].class)[0]);
+        String testClass = context.getRequiredTestClass().getName();
+        System.out.printf("%s: %d ms total, %d ms in tests, %d ms setup%n", testClass, totalMillis, testMillis, totalMillis - testMillis);
+        try {
+            Files.createDirectories(REPORT.getParent());
+            boolean header = !Files.exists(REPORT);
+            Files.writeString(REPORT, (header ? "class,total_ms,test_ms,setup_ms\n" : "")
+                            + testClass + "," + totalMillis + "," + testMillis + "," + (totalMillis - testMillis) + "\n",
+                    StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package net.junitpractice.springboottesting.integration;
+
+import org.springframework.test.context.ActiveProfiles;
+
+//same load as PlatformThreadsLoadIT with tomcat running requests on virtual threads
+@ActiveProfiles("virtual-threads")
+public class VirtualThreadsLoadIT extends PlatformThreadsLoadIT {
+}
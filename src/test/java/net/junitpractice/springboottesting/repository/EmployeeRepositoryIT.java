@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,11 +22,14 @@ public class EmployeeRepositoryIT extends AbstractContainerBaseTest {
 
     @Autowired
     private EmployeeRepository employeeRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     private Employee employee;
 
     @BeforeEach             //we can keep a common code here so that the method annotated with @befopreEach will run before all test cases
     public void setup(){
+        employeeRepository.deleteAllInBatch();      //starts from an empty table, @DataJpaTest rolls this back together with the test
         employee = Employee.builder()
                 .firstName("Kartik")
                 .lastName("Singh")
@@ -214,4 +218,17 @@ public void givenEmployeeId_whenFindById_thenReturnEmployee(){
         assertThat(resultEmployee).isNotNull();
     }
 
+    //junit test case for the flyway migrations creating the name index
+    @DisplayName("junit test case for the flyway migrations creating the name index")
+    @Test
+    public void givenMigratedSchema_whenReadIndexColumns_thenNameIndexCoversFirstAndLastName(){
+        //when - action or behaviour that we are going to test
+        List<String> columns = jdbcTemplate.queryForList(
+                "select column_name from information_schema.statistics " +
+                        "where table_schema = database() and table_name = 'employees' and index_name = ? order by seq_in_index",
+                String.class, Employee.NAME_INDEX);
+        //then - verify the output
+        assertThat(columns).containsExactly("first_name", "last_name");
+    }
+
 }
@@ -1,5 +1,7 @@
 package net.junitpractice.springboottesting.repository;
 
+import net.junitpractice.springboottesting.dto.EmployeeListVersion;
+import net.junitpractice.springboottesting.dto.EmployeeSummary;
 import net.junitpractice.springboottesting.model.Employee;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -8,12 +10,15 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
-@DataJpaTest
+//the flyway migrations are mysql only, the embedded database gets its schema from the entities
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop"})
 public class EmployeeRepositoryTests {
 
     @Autowired
@@ -145,6 +150,83 @@ public void givenEmployeeId_whenFindById_thenReturnEmployee(){
         assertThat(employeeOptional).isEmpty();
     }
 
+    //junit test case for direct delete by id, returns the number of rows removed
+    @DisplayName("junit test case for deleteRowById operation")
+    @Test
+    public void givenEmployeeObject_whenDeleteRowById_thenReturnAffectedRows(){
+        //given - precondition or setup
+        employeeRepository.save(employee);
+        //when - action or behaviour that we are going to test
+        int deleted = employeeRepository.deleteRowById(employee.getId());
+        int deletedAgain = employeeRepository.deleteRowById(employee.getId());
+        //then - verify the output
+        assertThat(deleted).isEqualTo(1);
+        assertThat(deletedAgain).isZero();
+    }
+
+    //junit test case for dto projection queries, rows come back as summaries and not as managed entities
+    @DisplayName("junit test case for findAllSummaries and findByNameOrEmailPrefix operations")
+    @Test
+    public void givenEmployeeList_whenFindSummaries_thenReturnProjections(){
+        //given - precondition or setup
+        Employee employee2 = Employee.builder()
+                .firstName("Rakesh")
+                .lastName("Mall")
+                .email("rakesh@gmail.com")
+                .build();
+        employeeRepository.save(employee);
+        employeeRepository.save(employee2);
+        //when - action or behaviour that we are going to test
+        List<EmployeeSummary> summaries = employeeRepository.findAllSummaries();
+        List<EmployeeSummary> prefixMatches = employeeRepository.findByNameOrEmailPrefix("ma%", PageRequest.of(0, 10));
+        //then - verify the output
+        assertThat(summaries).extracting(EmployeeSummary::email).containsExactly("avis@gmail.com", "rakesh@gmail.com");
+        assertThat(prefixMatches).extracting(EmployeeSummary::id).containsExactly(employee2.getId());
+    }
+
+    //junit test case for the list version aggregate, an update changes it
+    @DisplayName("junit test case for getListVersion operation")
+    @Test
+    public void givenEmployeeObject_whenUpdateEmployee_thenListVersionChanges(){
+        //given - precondition or setup
+        EmployeeListVersion empty = employeeRepository.getListVersion();
+        employeeRepository.saveAndFlush(employee);
+        EmployeeListVersion before = employeeRepository.getListVersion();
+        //when - action or behaviour that we are going to test
+        employee.setFirstName("sadhu");
+        employeeRepository.saveAndFlush(employee);
+        EmployeeListVersion after = employeeRepository.getListVersion();
+        //then - verify the output
+        assertThat(empty.count()).isZero();
+        assertThat(before.count()).isEqualTo(1);
+        assertThat(before.maxId()).isEqualTo(employee.getId());
+        assertThat(after).isNotEqualTo(before);
+    }
+
+    //junit test case for the name queries when two employees share a name
+    @DisplayName("junit test case for streamByName and keyset paged name lookup")
+    @Test
+    public void givenEmployeesSharingName_whenStreamAndPageByName_thenReturnEveryMatch(){
+        //given - precondition or setup
+        Employee employee2 = Employee.builder()
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email("kartik2@gmail.com")
+                .build();
+        employeeRepository.save(employee);
+        employeeRepository.save(employee2);
+        //when - action or behaviour that we are going to test
+        List<Employee> streamed;
+        try (Stream<Employee> employees = employeeRepository.streamByName(employee.getFirstName(), employee.getLastName())) {
+            streamed = employees.toList();
+        }
+        List<Employee> secondPage = employeeRepository.findByFirstNameAndLastNameAndIdGreaterThanOrderByIdAsc(
+                employee.getFirstName(), employee.getLastName(), employee.getId(), PageRequest.of(0, 10));
+        //then - verify the output
+        assertThat(streamed).extracting(Employee::getEmail).containsExactly("avis@gmail.com", "kartik2@gmail.com");
+        assertThat(secondPage).extracting(Employee::getId).containsExactly(employee2.getId());
+    }
+
     //junit test case for custom query using jpql with index parameters findByJPQL()
     @DisplayName("junit test case for custom query using jpql with index parameters findByJPQL()")
     @Test
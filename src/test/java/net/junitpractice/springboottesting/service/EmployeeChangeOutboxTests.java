@@ -0,0 +1,86 @@
+package net.junitpractice.springboottesting.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import net.junitpractice.springboottesting.model.Employee;
+import net.junitpractice.springboottesting.model.EmployeeOutboxEvent;
+import net.junitpractice.springboottesting.repository.EmployeeOutboxRepository;
+import net.junitpractice.springboottesting.service.impl.EmployeeChangeOutbox;
+import org.hibernate.query.NativeQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeChangeOutboxTests {
+
+    @Mock
+    private EmployeeOutboxRepository outboxRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private Query insert;
+    @Mock
+    private NativeQuery<?> nativeInsert;
+
+    private EmployeeChangeOutbox changeOutbox;
+
+    @BeforeEach
+    public void setup(){
+        changeOutbox = new EmployeeChangeOutbox(outboxRepository, entityManager, new ObjectMapper());
+    }
+
+    //Junit test case for recordCreated with a chunk of employees, one multi row insert instead of one insert per event
+    @DisplayName("Junit test case for change outbox writing a bulk chunk in one insert")
+    @Test
+    public void givenEmployeeChunk_whenRecordCreated_thenInsertAllEventsInOneStatement(){
+        //given - precondition or setup
+        List<Employee> employees = List.of(
+                Employee.builder().id(1L).firstName("Rakesh").lastName("Mall").email("rakesh@gmail.com").build(),
+                Employee.builder().id(2L).firstName("Keshav").lastName("Dhami").email("keshav@gmail.com").build());
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        given(entityManager.createNativeQuery(sql.capture())).willReturn(insert);
+        given(insert.unwrap(NativeQuery.class)).willReturn(nativeInsert);
+        //when - action or behaviour that we are going to test
+        changeOutbox.recordCreated(employees);
+        //then - verify the output
+        assertThat(sql.getValue()).isEqualTo("insert into employee_outbox (employee_id, event_type, payload) values (?, ?, ?), (?, ?, ?)");
+        verify(insert).setParameter(2, EmployeeOutboxEvent.Type.CREATED.name());
+        verify(insert,times(6)).setParameter(anyInt(), any());
+        verify(nativeInsert).addSynchronizedEntityClass(EmployeeOutboxEvent.class);      //keeps the employee cache regions
+        verify(insert,times(1)).executeUpdate();
+        verify(outboxRepository,never()).saveAll(any());
+    }
+
+    //Junit test case for recordDeleted with many ids, delete events carry no payload
+    @DisplayName("Junit test case for change outbox writing bulk deletes")
+    @Test
+    public void givenManyIds_whenRecordDeleted_thenInsertInChunksWithoutPayload(){
+        //given - precondition or setup
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().toList();      //one more than fits in a single insert
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        given(entityManager.createNativeQuery(sql.capture())).willReturn(insert);
+        given(insert.unwrap(NativeQuery.class)).willReturn(nativeInsert);
+        //when - action or behaviour that we are going to test
+        changeOutbox.recordDeleted(ids);
+        //then - verify the output
+        verify(insert,times(2)).executeUpdate();
+        assertThat(sql.getAllValues().get(1)).endsWith("values (?, ?, null)");
+    }
+}
@@ -0,0 +1,176 @@
+package net.junitpractice.springboottesting.service;
+
+import net.junitpractice.springboottesting.dto.EmployeeChangeEvent;
+import net.junitpractice.springboottesting.model.EmployeeOutboxEvent;
+import net.junitpractice.springboottesting.repository.EmployeeOutboxRepository;
+import net.junitpractice.springboottesting.service.impl.EmployeeChangeRelay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+//the relay is driven with poll() directly, the poller thread is never started. batches still go out on sender threads, hence the timeouts
+@ExtendWith(MockitoExtension.class)
+public class EmployeeChangeRelayTests {
+
+    @Mock
+    private EmployeeOutboxRepository outboxRepository;
+
+    private EmployeeChangeRelay changeRelay;
+
+    private LocalDateTime now;
+
+    @BeforeEach
+    public void setup(){
+        changeRelay = new EmployeeChangeRelay(outboxRepository, 2, Duration.ofMillis(500), Duration.ofSeconds(150), Duration.ofDays(7), 16, Duration.ofSeconds(30));
+        now = LocalDateTime.of(2024, 1, 1, 12, 0);
+    }
+
+    //Junit test case for poll, subscribers at the same offset share one query and move on to the last offset sent
+    @DisplayName("Junit test case for change relay sharing a batch between subscribers")
+    @Test
+    public void givenTwoSubscribersAtSameOffset_whenPoll_thenQueryOnceAndSendBothTheBatch() throws Exception{
+        //given - precondition or setup
+        given(outboxRepository.findDatabaseTime()).willReturn(now);
+        given(outboxRepository.findByIdGreaterThanOrderByIdAsc(eq(10L), any()))
+                .willReturn(List.of(outboxEvent(11L, now), outboxEvent(12L, now)));
+        EmployeeChangeRelay.Listener first = mock(EmployeeChangeRelay.Listener.class);
+        EmployeeChangeRelay.Listener second = mock(EmployeeChangeRelay.Listener.class);
+        EmployeeChangeRelay.Subscription subscription = changeRelay.subscribe(10L, first);
+        changeRelay.subscribe(10L, second);
+        //when - action or behaviour that we are going to test
+        boolean behind = changeRelay.poll();
+        //then - verify the output
+        verify(outboxRepository,times(1)).findByIdGreaterThanOrderByIdAsc(eq(10L), any());
+        assertThat(sentBatch(first)).extracting(EmployeeChangeEvent::offset).containsExactly(11L, 12L);
+        assertThat(sentBatch(second)).isEqualTo(sentBatch(first));
+        assertThat(subscription.getOffset()).isEqualTo(12L);
+        assertThat(behind).isTrue();        //a full batch, there may be more right away
+    }
+
+    //Junit test case for poll, a subscriber whose connection fails is dropped
+    @DisplayName("Junit test case for change relay dropping a broken subscriber")
+    @Test
+    public void givenFailingSubscriber_whenPoll_thenUnsubscribe() throws Exception{
+        //given - precondition or setup
+        given(outboxRepository.findDatabaseTime()).willReturn(now);
+        given(outboxRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .willReturn(List.of(outboxEvent(1L, now)));
+        EmployeeChangeRelay.Listener listener = mock(EmployeeChangeRelay.Listener.class);
+        willThrow(new IOException("Broken pipe")).given(listener).onEvents(any());
+        changeRelay.subscribe(0L, listener);
+        //when - action or behaviour that we are going to test
+        boolean behind = changeRelay.poll();
+        //then - verify the output
+        assertThat(behind).isFalse();
+        verify(listener,timeout(1000)).onDropped();
+        assertThat(changeRelay.subscriberCount()).isZero();
+    }
+
+    //Junit test case for poll, a hole in the ids holds the subscriber back until it is older than the gap timeout
+    @DisplayName("Junit test case for change relay waiting on a hole in the ids")
+    @Test
+    public void givenHoleInIds_whenPoll_thenStopBeforeItUntilGapTimeout() throws Exception{
+        //given - precondition or setup
+        given(outboxRepository.findDatabaseTime()).willReturn(now);
+        //id 12 may belong to a transaction that hasn't committed yet
+        given(outboxRepository.findByIdGreaterThanOrderByIdAsc(eq(10L), any()))
+                .willReturn(List.of(outboxEvent(11L, now.minusSeconds(1)), outboxEvent(13L, now.minusSeconds(1))));
+        given(outboxRepository.findByIdGreaterThanOrderByIdAsc(eq(20L), any()))
+                .willReturn(List.of(outboxEvent(22L, now.minusMinutes(3))));
+        EmployeeChangeRelay.Listener recent = mock(EmployeeChangeRelay.Listener.class);
+        EmployeeChangeRelay.Listener old = mock(EmployeeChangeRelay.Listener.class);
+        EmployeeChangeRelay.Subscription recentSubscription = changeRelay.subscribe(10L, recent);
+        changeRelay.subscribe(20L, old);
+        //when - action or behaviour that we are going to test
+        changeRelay.poll();
+        //then - verify the output
+        assertThat(sentBatch(recent)).extracting(EmployeeChangeEvent::offset).containsExactly(11L);
+        assertThat(recentSubscription.getOffset()).isEqualTo(11L);
+        assertThat(sentBatch(old)).extracting(EmployeeChangeEvent::offset).containsExactly(22L);      //past the gap timeout, 21 is never coming
+    }
+
+    //Junit test case for poll, a client stuck in a write neither holds back the others nor the poller, and is dropped after send-timeout
+    @DisplayName("Junit test case for change relay dropping a stuck subscriber")
+    @Test
+    public void givenStuckSubscriber_whenPoll_thenOthersGetTheBatchAndStuckOneIsDropped() throws Exception{
+        //given - precondition or setup
+        changeRelay = new EmployeeChangeRelay(outboxRepository, 2, Duration.ofMillis(500), Duration.ofSeconds(150), Duration.ofDays(7), 1, Duration.ZERO);
+        given(outboxRepository.findDatabaseTime()).willReturn(now);
+        given(outboxRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).willReturn(List.of(outboxEvent(1L, now)));
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        EmployeeChangeRelay.Listener stuck = mock(EmployeeChangeRelay.Listener.class);
+        willAnswer(invocation -> {
+            sending.countDown();
+            release.await();        //like a socket write to a client that stopped reading
+            return null;
+        }).given(stuck).onEvents(any());
+        EmployeeChangeRelay.Listener healthy = mock(EmployeeChangeRelay.Listener.class);
+        changeRelay.subscribe(0L, stuck);
+        changeRelay.subscribe(0L, healthy);
+        try {
+            //when - action or behaviour that we are going to test
+            changeRelay.poll();
+            assertThat(sending.await(1, TimeUnit.SECONDS)).isTrue();
+            changeRelay.poll();
+            //then - verify the output
+            assertThat(sentBatch(healthy)).extracting(EmployeeChangeEvent::offset).containsExactly(1L);
+            verify(stuck,timeout(1000)).onDropped();
+            assertThat(changeRelay.subscriberCount()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    //Junit test case for isBehindRetention, an offset before the oldest event left has missed purged events
+    @DisplayName("Junit test case for change relay detecting purged offsets")
+    @Test
+    public void givenOffsetBeforeOldestEvent_whenIsBehindRetention_thenReturnTrue(){
+        //given - precondition or setup
+        given(outboxRepository.findOldestId()).willReturn(Optional.of(100L));
+        //when - action or behaviour that we are going to test
+        //then - verify the output
+        assertThat(changeRelay.isBehindRetention(50L)).isTrue();
+        assertThat(changeRelay.isBehindRetention(99L)).isFalse();
+        assertThat(changeRelay.isBehindRetention(0L)).isFalse();        //a fresh consumer starts at the oldest event anyway
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<EmployeeChangeEvent> sentBatch(EmployeeChangeRelay.Listener listener) throws IOException {
+        ArgumentCaptor<List<EmployeeChangeEvent>> batch = ArgumentCaptor.forClass(List.class);
+        verify(listener,timeout(1000)).onEvents(batch.capture());
+        return batch.getValue();
+    }
+
+    private static EmployeeOutboxEvent outboxEvent(long id, LocalDateTime createdAt) {
+        return EmployeeOutboxEvent.builder()
+                .id(id)
+                .employeeId(id)
+                .type(EmployeeOutboxEvent.Type.UPDATED)
+                .createdAt(createdAt)
+                .build();
+    }
+}
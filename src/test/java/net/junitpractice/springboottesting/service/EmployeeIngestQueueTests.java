@@ -0,0 +1,109 @@
+package net.junitpractice.springboottesting.service;
+
+import net.junitpractice.springboottesting.dto.EmployeeBulkResult;
+import net.junitpractice.springboottesting.dto.EmployeeIngestStatus;
+import net.junitpractice.springboottesting.model.Employee;
+import net.junitpractice.springboottesting.service.impl.EmployeeIngestQueue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeIngestQueueTests {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private EmployeeIngestQueue ingestQueue;
+
+    @AfterEach
+    public void tearDown(){
+        if (ingestQueue != null) {
+            ingestQueue.stop();
+        }
+    }
+
+    //Junit test case for offer, queued employees are written in one batch and their statuses updated
+    @DisplayName("Junit test case for ingest queue writing a batch")
+    @Test
+    public void givenQueuedEmployees_whenDrained_thenSaveInOneBatchAndReportStatus() throws Exception{
+        //given - precondition or setup
+        ingestQueue = new EmployeeIngestQueue(employeeService, 100, 2, Duration.ofSeconds(5), Duration.ofMinutes(1));
+        given(employeeService.saveAllEmployees(any())).willAnswer(invocation -> {
+            Iterator<Employee> employees = invocation.getArgument(0);
+            List<EmployeeBulkResult> results = new ArrayList<>();
+            results.add(EmployeeBulkResult.created(0, employees.next().getEmail(), 11L));
+            results.add(EmployeeBulkResult.duplicate(1, employees.next().getEmail()));
+            return results;
+        });
+        ingestQueue.start();
+        //when - action or behaviour that we are going to test
+        String first = ingestQueue.offer(Employee.builder().firstName("Rakesh").lastName("Mall").email("rakesh@gmail.com").build()).orElseThrow();
+        String second = ingestQueue.offer(Employee.builder().firstName("Rahul").lastName("Dev").email("rakesh@gmail.com").build()).orElseThrow();
+        ingestQueue.stop();     //returns once the queue is written
+        //then - verify the output
+        assertThat(ingestQueue.getStatus(first)).map(EmployeeIngestStatus::state).contains(EmployeeIngestStatus.State.CREATED);
+        assertThat(ingestQueue.getStatus(first)).map(EmployeeIngestStatus::id).contains(11L);
+        assertThat(ingestQueue.getStatus(second)).map(EmployeeIngestStatus::state).contains(EmployeeIngestStatus.State.DUPLICATE);
+        verify(employeeService,times(1)).saveAllEmployees(any());
+    }
+
+    //Junit test case for offer, a full queue refuses more employees
+    @DisplayName("Junit test case for ingest queue backpressure")
+    @Test
+    public void givenFullQueue_whenOffer_thenRejectEmployee() throws Exception{
+        //given - precondition or setup
+        ingestQueue = new EmployeeIngestQueue(employeeService, 1, 1, Duration.ofMillis(10), Duration.ofMinutes(1));
+        CountDownLatch flushStarted = new CountDownLatch(1);
+        CountDownLatch releaseFlush = new CountDownLatch(1);
+        given(employeeService.saveAllEmployees(any())).willAnswer(invocation -> {
+            Iterator<Employee> employees = invocation.getArgument(0);
+            String email = employees.next().getEmail();
+            flushStarted.countDown();
+            releaseFlush.await(5, TimeUnit.SECONDS);
+            return List.of(EmployeeBulkResult.created(0, email, 1L));
+        });
+        ingestQueue.start();
+        Employee employee = Employee.builder().firstName("Rakesh").lastName("Mall").email("rakesh@gmail.com").build();
+        ingestQueue.offer(employee);
+        flushStarted.await(5, TimeUnit.SECONDS);      //the drainer is busy writing the first one
+        //when - action or behaviour that we are going to test
+        Optional<String> accepted = ingestQueue.offer(employee);
+        Optional<String> rejected = ingestQueue.offer(employee);
+        releaseFlush.countDown();
+        //then - verify the output
+        assertThat(accepted).isPresent();
+        assertThat(rejected).isEmpty();
+    }
+
+    //Junit test case for offer before the queue is started or after it is stopped
+    @DisplayName("Junit test case for ingest queue not running")
+    @Test
+    public void givenStoppedQueue_whenOffer_thenRejectEmployee(){
+        //given - precondition or setup
+        ingestQueue = new EmployeeIngestQueue(employeeService, 10, 10, Duration.ofMillis(10), Duration.ofMinutes(1));
+        //when - action or behaviour that we are going to test
+        Optional<String> trackingId = ingestQueue.offer(Employee.builder().firstName("Rakesh").lastName("Mall").email("rakesh@gmail.com").build());
+        //then - verify the output
+        assertThat(trackingId).isEmpty();
+        verify(employeeService,never()).saveAllEmployees(any());
+    }
+}
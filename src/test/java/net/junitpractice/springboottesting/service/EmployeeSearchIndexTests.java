@@ -0,0 +1,72 @@
+package net.junitpractice.springboottesting.service;
+
+import net.junitpractice.springboottesting.dto.EmployeePatch;
+import net.junitpractice.springboottesting.dto.EmployeeSummary;
+import net.junitpractice.springboottesting.model.Employee;
+import net.junitpractice.springboottesting.repository.EmployeeRepository;
+import net.junitpractice.springboottesting.service.impl.EmployeeSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeSearchIndexTests {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeSearchIndex searchIndex;
+
+    private Employee rakesh;
+    private Employee keshav;
+
+    @BeforeEach
+    public void setup(){
+        searchIndex = new EmployeeSearchIndex(employeeRepository);
+        rakesh = Employee.builder().id(1L).firstName("Rakesh").lastName("Mall").email("rakesh@gmail.com").build();
+        keshav = Employee.builder().id(2L).firstName("Keshav").lastName("Dhami").email("keshav@gmail.com").build();
+    }
+
+    //Junit test case for warmUp when rows change while the snapshot is read, the snapshot must not undo those changes
+    @DisplayName("Junit test case for search index warm up with changes during the load")
+    @Test
+    public void givenChangesDuringLoad_whenWarmUp_thenReplayThemOverTheSnapshot(){
+        //given - precondition or setup
+        //both changes commit after the snapshot query started, so the rows after them still carry the old state
+        given(employeeRepository.streamAll()).willReturn(Stream.of(rakesh, keshav).peek(row -> {
+            if (row.getId() == 1L) {
+                searchIndex.remove(2L);
+                searchIndex.patch(1L, new EmployeePatch("Rajesh", null, null, null));
+            }
+        }));
+        //when - action or behaviour that we are going to test
+        searchIndex.warmUp();
+        //then - verify the output
+        assertThat(searchIndex.isReady()).isTrue();
+        assertThat(searchIndex.search("keshav", 10)).isEmpty();
+        assertThat(searchIndex.search("rakesh", 10)).containsExactly(new EmployeeSummary(1L, "Rajesh", "Mall", "rakesh@gmail.com"));
+        assertThat(searchIndex.search("raj", 10)).containsExactly(new EmployeeSummary(1L, "Rajesh", "Mall", "rakesh@gmail.com"));
+    }
+
+    //Junit test case for changes after the load, they go straight into the index
+    @DisplayName("Junit test case for search index changes after warm up")
+    @Test
+    public void givenLoadedIndex_whenRemove_thenNotFound(){
+        //given - precondition or setup
+        given(employeeRepository.streamAll()).willReturn(Stream.of(rakesh, keshav));
+        searchIndex.warmUp();
+        //when - action or behaviour that we are going to test
+        searchIndex.remove(2L);
+        //then - verify the output
+        assertThat(searchIndex.search("keshav", 10)).isEmpty();
+        assertThat(searchIndex.search("rakesh", 10)).hasSize(1);
+    }
+}
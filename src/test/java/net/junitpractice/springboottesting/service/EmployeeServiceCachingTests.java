@@ -0,0 +1,156 @@
+package net.junitpractice.springboottesting.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManager;
+import net.junitpractice.springboottesting.config.EmployeeCacheConfig;
+import net.junitpractice.springboottesting.dto.EmployeeBatchGetResult;
+import net.junitpractice.springboottesting.model.Employee;
+import net.junitpractice.springboottesting.repository.EmployeeRepository;
+import net.junitpractice.springboottesting.service.impl.EmployeeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+//only the cache config and the service are loaded so we test the caching proxy and not the whole application
+@SpringBootTest(classes = {EmployeeCacheConfig.class, EmployeeServiceImpl.class})
+public class EmployeeServiceCachingTests {
+
+    @MockBean
+    private EmployeeRepository employeeRepository;
+    @MockBean
+    private EntityManager entityManager;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup(){
+        cacheManager.getCache(EmployeeCacheConfig.EMPLOYEES_CACHE).clear();
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("Rakesh")
+                .lastName("Mall")
+                .email("rakesh@gmail.com")
+                .build();
+    }
+
+    //Junit test case for getEmployeeById method, second call is served from the cache
+    @DisplayName("Junit test case for cached getEmployeeById method")
+    @Test
+    public void givenEmployeeId_whenGetEmployeeByIdTwice_thenLoadFromDbOnce(){
+        //given - precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        CacheStats before = nativeCache().stats();      //stats are cumulative for the cache so we compare against the start of the test
+        //when - action or behaviour that we are going to test
+        Optional<Employee> first = employeeService.getEmployeeById(1L);
+        Optional<Employee> second = employeeService.getEmployeeById(1L);
+        //then - verify the output
+        assertThat(first).contains(employee);
+        assertThat(second).contains(employee);
+        verify(employeeRepository,times(1)).findById(1L);
+        CacheStats stats = nativeCache().stats().minus(before);
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(1);
+    }
+
+    //Junit test case for getEmployeeById method, a 404 is cached too
+    @DisplayName("Junit test case for cached getEmployeeById method (negative scenario)")
+    @Test
+    public void givenMissingEmployeeId_whenGetEmployeeByIdTwice_thenLoadFromDbOnce(){
+        //given - precondition or setup
+        given(employeeRepository.findById(22L)).willReturn(Optional.empty());
+        //when - action or behaviour that we are going to test
+        Optional<Employee> first = employeeService.getEmployeeById(22L);
+        Optional<Employee> second = employeeService.getEmployeeById(22L);
+        //then - verify the output
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        verify(employeeRepository,times(1)).findById(22L);
+    }
+
+    //Junit test case for updateEmployee method, the cache holds the updated employee afterwards
+    @DisplayName("Junit test case for updateEmployee method refreshing the cache")
+    @Test
+    public void givenCachedEmployee_whenUpdateEmployee_thenCacheHoldsUpdatedEmployee(){
+        //given - precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        Employee updatedEmployee = Employee.builder()
+                .id(1L)
+                .firstName("Keshav")
+                .lastName("Mall")
+                .email("Dhami@outlook.com")
+                .build();
+        given(employeeRepository.save(any(Employee.class))).willReturn(updatedEmployee);
+        employeeService.getEmployeeById(1L);
+        //when - action or behaviour that we are going to test
+        employeeService.updateEmployee(updatedEmployee);
+        Optional<Employee> cached = employeeService.getEmployeeById(1L);
+        //then - verify the output
+        assertThat(cached).contains(updatedEmployee);
+        verify(employeeRepository,times(1)).findById(1L);
+    }
+
+    //Junit test case for deleteEmployeeById method, the next read goes back to the db
+    @DisplayName("Junit test case for deleteEmployeeById method evicting the cache")
+    @Test
+    public void givenCachedEmployee_whenDeleteEmployeeById_thenEvictFromCache(){
+        //given - precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        given(employeeRepository.deleteRowById(1L)).willReturn(1);
+        employeeService.getEmployeeById(1L);
+        //when - action or behaviour that we are going to test
+        employeeService.deleteEmployeeById(1L);
+        employeeService.getEmployeeById(1L);
+        //then - verify the output
+        verify(employeeRepository,times(2)).findById(1L);
+        assertThat(nativeCache().stats().evictionCount()).isZero();     //explicit evicts are not counted as size/ttl evictions
+    }
+
+    //Junit test case for getEmployeesByIds method, cached ids are not queried and the rest is cached for getEmployeeById
+    @DisplayName("Junit test case for getEmployeesByIds method using the cache")
+    @Test
+    public void givenCachedEmployee_whenGetEmployeesByIds_thenQueryOnlyMisses(){
+        //given - precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        Employee employee2 = Employee.builder().id(2L).firstName("Rahul").lastName("Dev").email("dev@gmail.com").build();
+        given(employeeRepository.findAllById(List.of(2L, 3L))).willReturn(List.of(employee2));
+        employeeService.getEmployeeById(1L);
+        //when - action or behaviour that we are going to test
+        EmployeeBatchGetResult result = employeeService.getEmployeesByIds(List.of(2L, 1L, 3L));
+        Optional<Employee> cachedEmployee = employeeService.getEmployeeById(2L);
+        Optional<Employee> cachedMissing = employeeService.getEmployeeById(3L);
+        //then - verify the output
+        assertThat(result.employees()).containsExactly(employee2, employee);
+        assertThat(result.missingIds()).containsExactly(3L);
+        assertThat(cachedEmployee).contains(employee2);
+        assertThat(cachedMissing).isEmpty();
+        verify(employeeRepository,times(1)).findAllById(List.of(2L, 3L));
+        verify(employeeRepository,times(0)).findById(2L);
+        verify(employeeRepository,times(0)).findById(3L);
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(){
+        TransactionAwareCacheDecorator cache = (TransactionAwareCacheDecorator) cacheManager.getCache(EmployeeCacheConfig.EMPLOYEES_CACHE);
+        return ((CaffeineCache) cache.getTargetCache()).getNativeCache();
+    }
+}
@@ -1,9 +1,19 @@
 package net.junitpractice.springboottesting.service;
 
+import jakarta.persistence.EntityManager;
+import net.junitpractice.springboottesting.dto.EmployeeBatchGetResult;
+import net.junitpractice.springboottesting.dto.EmployeeBulkResult;
+import net.junitpractice.springboottesting.dto.EmployeePage;
+import net.junitpractice.springboottesting.dto.EmployeePatch;
+import net.junitpractice.springboottesting.dto.EmployeeSummary;
 import net.junitpractice.springboottesting.exception.ResourceNotFoundException;
 import net.junitpractice.springboottesting.model.Employee;
 import net.junitpractice.springboottesting.repository.EmployeeRepository;
+import net.junitpractice.springboottesting.service.impl.EmployeeChangeOutbox;
+import net.junitpractice.springboottesting.service.impl.EmployeeSearchIndex;
 import net.junitpractice.springboottesting.service.impl.EmployeeServiceImpl;
+import net.junitpractice.springboottesting.service.impl.KnownEmailFilter;
+import org.hibernate.exception.ConstraintViolationException;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import org.junit.jupiter.api.Assertions;
@@ -14,14 +24,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.willDoNothing;
@@ -33,6 +53,12 @@ public class EmployeeServiceTests {
 
     @Mock
     private EmployeeRepository employeeRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private KnownEmailFilter knownEmailFilter;      //optional collaborator, tests set it explicitly when they need it
+    @Mock
+    private EmployeeChangeOutbox changeOutbox;      //optional collaborator too
     @InjectMocks                                                    //injecting one mock dependency in this
     private EmployeeServiceImpl employeeService;
 
@@ -53,15 +79,13 @@ public class EmployeeServiceTests {
     @Test
     public void givenEmployeeObject_whenSaveEmployee_thenReturnEmployee(){
         //given - precondition or setup
-        //in our EmployeeSericeImpl class saveEmployee method uses findByEmail() and save() methods so we have to provide stubbing for these 2 methods first
-
-        given(employeeRepository.findByEmail(employee.getEmail()))
-                .willReturn(Optional.empty());//given method takes methodCall as argument, here in willReturn() there is empty object because if we return an employee object then there already exists an object with taht email and it will throw ResourceNotfoundexception
-        given(employeeRepository.save(employee)).willReturn(employee);   //here in willReturn() parameter is employee becoz save() method return object so.
+        //in our EmployeeSericeImpl class saveEmployee method inserts directly with saveAndFlush() and lets the unique index on email reject duplicates
+        given(employeeRepository.saveAndFlush(employee)).willReturn(employee);   //here in willReturn() parameter is employee becoz saveAndFlush() method return object so.
         //when - action or behaviour that we are going to test
         Employee savedEmployee = employeeService.saveEmployee(employee);
         //then - verify the output
         assertThat(savedEmployee).isNotNull();
+        verify(employeeRepository,never()).findByEmail(any());     //no check-then-act round trip before the insert
     }
 
     //Junit test case for saveEmployeeMethod failed one
@@ -69,17 +93,184 @@ public class EmployeeServiceTests {
     @Test
     public void givenExistingEmail_whenSaveEmployee_thenThrowsException(){
         //given - precondition or setup
-        //in our EmployeeSericeImpl class saveEmployee method uses findByEmail() and save() methods so we have to provide stubbing for these 2 methods first
-
-        given(employeeRepository.findByEmail(employee.getEmail()))
-                .willReturn(Optional.of(employee));//given method takes methodCall as argument
-//        given(employeeRepository.save(employee)).willReturn(employee);   //we can't do stubbing for this method now because we want the control to eit after getting exception from findByEmail method
+        //the unique index on email rejects the insert, hibernate reports which constraint was violated
+        given(employeeRepository.saveAndFlush(employee))
+                .willThrow(new DataIntegrityViolationException("Duplicate entry",
+                        new ConstraintViolationException("Duplicate entry", null, "employees." + Employee.EMAIL_UNIQUE_INDEX)));
         //when - action or behaviour that we are going to test
         Assertions.assertThrows(ResourceNotFoundException.class,()->{
             employeeService.saveEmployee(employee);
         });   //this is Assertion class from junit package, not from assertj
+    }
+
+    //Junit test case for saveEmployeeMethod when some other constraint fails
+    @DisplayName("Junit test case for saveEmployeeMethod failing on another constraint")
+    @Test
+    public void givenOtherConstraintViolation_whenSaveEmployee_thenRethrowException(){
+        //given - precondition or setup
+        given(employeeRepository.saveAndFlush(employee))
+                .willThrow(new DataIntegrityViolationException("Column 'first_name' cannot be null",
+                        new ConstraintViolationException("Column 'first_name' cannot be null", null, "first_name")));
+        //when - action or behaviour that we are going to test
+        //then - verify the output
+        Assertions.assertThrows(DataIntegrityViolationException.class,()->{
+            employeeService.saveEmployee(employee);
+        });
+    }
+
+    //Junit test case for saveEmployeeMethod when the driver names no constraint, only a duplicate key error counts as a duplicate email
+    @DisplayName("Junit test case for saveEmployeeMethod failing on an unnamed duplicate key")
+    @Test
+    public void givenUnnamedDuplicateKey_whenSaveEmployee_thenThrowsException(){
+        //given - precondition or setup
+        SQLIntegrityConstraintViolationException duplicate = new SQLIntegrityConstraintViolationException("Duplicate entry", "23000", 1062);
+        given(employeeRepository.saveAndFlush(employee))
+                .willThrow(new DataIntegrityViolationException("Duplicate entry",
+                        new ConstraintViolationException("Duplicate entry", duplicate, null)));
+        //when - action or behaviour that we are going to test
+        //then - verify the output
+        Assertions.assertThrows(ResourceNotFoundException.class,()->{
+            employeeService.saveEmployee(employee);
+        });
+    }
+
+    //Junit test case for saveEmployeeMethod when the driver names no constraint and it is not a duplicate key
+    @DisplayName("Junit test case for saveEmployeeMethod failing on an unnamed other constraint")
+    @Test
+    public void givenUnnamedOtherConstraintViolation_whenSaveEmployee_thenRethrowException(){
+        //given - precondition or setup
+        SQLIntegrityConstraintViolationException notNull = new SQLIntegrityConstraintViolationException("Column 'first_name' cannot be null", "23000", 1048);
+        given(employeeRepository.saveAndFlush(employee))
+                .willThrow(new DataIntegrityViolationException("Column 'first_name' cannot be null",
+                        new ConstraintViolationException("Column 'first_name' cannot be null", notNull, null)));
+        //when - action or behaviour that we are going to test
+        //then - verify the output
+        Assertions.assertThrows(DataIntegrityViolationException.class,()->{
+            employeeService.saveEmployee(employee);
+        });
+    }
+
+    //Junit test case for saveEmployeeMethod with the known email filter, a definitely new email skips the probe
+    @DisplayName("Junit test case for saveEmployeeMethod with known email filter and new email")
+    @Test
+    public void givenNewEmailAndEmailFilter_whenSaveEmployee_thenSkipFindByEmail(){
+        //given - precondition or setup
+        employeeService.setKnownEmailFilter(knownEmailFilter);
+        given(knownEmailFilter.mightContain(employee.getEmail())).willReturn(false);
+        given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
+        //when - action or behaviour that we are going to test
+        employeeService.saveEmployee(employee);
+        //then - verify the output
+        verify(employeeRepository,never()).findByEmail(any());
+        verify(knownEmailFilter,times(1)).put(employee.getEmail());
+    }
+
+    //Junit test case for saveEmployeeMethod with the outbox, the created employee is recorded as a change event
+    @DisplayName("Junit test case for saveEmployeeMethod with change outbox")
+    @Test
+    public void givenEmployeeObjectAndOutbox_whenSaveEmployee_thenRecordCreated(){
+        //given - precondition or setup
+        employeeService.setChangeOutbox(changeOutbox);
+        given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
+        //when - action or behaviour that we are going to test
+        employeeService.saveEmployee(employee);
+        //then - verify the output
+        verify(changeOutbox,times(1)).recordCreated(employee);
+    }
+
+    //Junit test case for saveEmployeeMethod with the outbox, a rejected duplicate records nothing
+    @DisplayName("Junit test case for saveEmployeeMethod with change outbox failed one")
+    @Test
+    public void givenDuplicateEmailAndOutbox_whenSaveEmployee_thenRecordNothing(){
+        //given - precondition or setup
+        employeeService.setChangeOutbox(changeOutbox);
+        given(employeeRepository.saveAndFlush(employee)).willThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", null, Employee.EMAIL_UNIQUE_INDEX)));
+        //when - action or behaviour that we are going to test
+        Assertions.assertThrows(ResourceNotFoundException.class,()->{
+            employeeService.saveEmployee(employee);
+        });
+        //then - verify the output
+        verifyNoInteractions(changeOutbox);
+    }
+
+    //Junit test case for saveEmployeeMethod with the known email filter, a possibly known email is probed first
+    @DisplayName("Junit test case for saveEmployeeMethod with known email filter and existing email")
+    @Test
+    public void givenKnownEmailAndEmailFilter_whenSaveEmployee_thenThrowsExceptionWithoutInsert(){
+        //given - precondition or setup
+        employeeService.setKnownEmailFilter(knownEmailFilter);
+        given(knownEmailFilter.mightContain(employee.getEmail())).willReturn(true);
+        given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.of(employee));
+        //when - action or behaviour that we are going to test
+        Assertions.assertThrows(ResourceNotFoundException.class,()->{
+            employeeService.saveEmployee(employee);
+        });
+        //then - verify the output
+        verify(employeeRepository,never()).saveAndFlush(any(Employee.class));//now after assertThrows gives exception the control should not go to next statement for save method
+    }
+
+    //Junit test case for searchEmployees method, answered from the search index once it is loaded
+    @DisplayName("Junit test case for searchEmployees method with search index")
+    @Test
+    public void givenLoadedSearchIndex_whenSearchEmployees_thenReturnPrefixMatchesWithoutDb(){
+        //given - precondition or setup
+        Employee employee1 = Employee.builder().id(2L).firstName("Rahul").lastName("Dev").email("dev@gmail.com").build();
+        Employee employee2 = Employee.builder().id(3L).firstName("Avishkar").lastName("Singh").email("ravi@gmail.com").build();
+        given(employeeRepository.streamAll()).willReturn(Stream.of(employee, employee1, employee2));
+        EmployeeSearchIndex searchIndex = new EmployeeSearchIndex(employeeRepository);
+        searchIndex.warmUp();
+        employeeService.setSearchIndex(searchIndex);
+        //when - action or behaviour that we are going to test
+        List<EmployeeSummary> hits = employeeService.searchEmployees("RA", 10);
+        List<EmployeeSummary> fullNameHits = employeeService.searchEmployees("rakesh m", 10);
+        //then - verify the output
+        assertThat(hits).extracting(EmployeeSummary::id).containsExactly(2L, 1L, 3L);
+        assertThat(fullNameHits).extracting(EmployeeSummary::id).containsExactly(1L);
+        verify(employeeRepository,never()).findByNameOrEmailPrefix(any(), any());
+    }
+
+    //Junit test case for searchEmployees method, writes through the service keep the search index up to date
+    @DisplayName("Junit test case for searchEmployees method after patch and delete")
+    @Test
+    public void givenPatchedAndDeletedEmployees_whenSearchEmployees_thenIndexReflectsWrites(){
+        //given - precondition or setup
+        Employee employee1 = Employee.builder().id(2L).firstName("Rahul").lastName("Dev").email("dev@gmail.com").build();
+        given(employeeRepository.streamAll()).willReturn(Stream.of(employee, employee1));
+        given(employeeRepository.patchEmployee(1L, "Mohan", null, null, null)).willReturn(1);
+        given(employeeRepository.deleteRowById(2L)).willReturn(1);
+        EmployeeSearchIndex searchIndex = new EmployeeSearchIndex(employeeRepository);
+        searchIndex.warmUp();
+        employeeService.setSearchIndex(searchIndex);
+        //when - action or behaviour that we are going to test
+        employeeService.patchEmployee(1L, new EmployeePatch("Mohan", null, null, null));
+        employeeService.deleteEmployeeById(2L);
         //then - verify the output
-      verify(employeeRepository,never()).save(any(Employee.class));//now after assertThrows gives exception the control should not go to next statement for save method
+        assertThat(employeeService.searchEmployees("rah", 10)).isEmpty();
+        assertThat(employeeService.searchEmployees("rakesh m", 10)).isEmpty();
+        assertThat(employeeService.searchEmployees("mo", 10)).extracting(EmployeeSummary::lastName).containsExactly("Mall");
+    }
+
+    //Junit test case for searchEmployees method, without a loaded index the prefix search goes to the db
+    @DisplayName("Junit test case for searchEmployees method without search index")
+    @Test
+    public void givenNoSearchIndex_whenSearchEmployees_thenFallBackToDbPrefixQuery(){
+        //given - precondition or setup
+        given(employeeRepository.findByNameOrEmailPrefix("ra!_k%", PageRequest.of(0, EmployeeServiceImpl.MAX_SEARCH_RESULTS)))
+                .willReturn(List.of(EmployeeSummary.of(employee)));
+        //when - action or behaviour that we are going to test
+        List<EmployeeSummary> hits = employeeService.searchEmployees(" Ra_K ", 1000);
+        //then - verify the output
+        assertThat(hits).containsExactly(EmployeeSummary.of(employee));
+    }
+
+    //Junit test case for searchEmployees method with a blank query
+    @DisplayName("Junit test case for searchEmployees method with blank query")
+    @Test
+    public void givenBlankQuery_whenSearchEmployees_thenThrowsException(){
+        Assertions.assertThrows(IllegalArgumentException.class,()->{
+            employeeService.searchEmployees("  ", 10);
+        });
     }
 
     //Junit test case for getALlEmployees method
@@ -114,6 +305,67 @@ public class EmployeeServiceTests {
         assertThat(employeeList).isEmpty();
         assertThat(employeeList.size()).isEqualTo(0);
     }
+
+    //Junit test case for getAllEmployeeSummaries method, reads projections and never loads entities
+    @DisplayName("Junit test case for getAllEmployeeSummaries method")
+    @Test
+    public void givenEmployeeSummaries_whenGetAllEmployeeSummaries_thenReturnSummariesWithoutFindAll(){
+        //given - precondition or setup
+        given(employeeRepository.findAllSummaries()).willReturn(List.of(EmployeeSummary.of(employee)));
+        //when - action or behaviour that we are going to test
+        List<EmployeeSummary> summaries = employeeService.getAllEmployeeSummaries();
+        //then - verify the output
+        assertThat(summaries).containsExactly(new EmployeeSummary(1L, "Rakesh", "Mall", "rakesh@gmail.com"));
+        verify(employeeRepository,never()).findAll();
+    }
+    //Junit test case for getEmployeesByIds method, results follow the request order whatever order the db returns
+    @DisplayName("Junit test case for getEmployeesByIds method")
+    @Test
+    public void givenEmployeeIds_whenGetEmployeesByIds_thenReturnInRequestOrderWithMissingIds(){
+        //given - precondition or setup
+        Employee employee3 = Employee.builder().id(3L).firstName("Rahul").lastName("Dev").email("dev@gmail.com").build();
+        given(employeeRepository.findAllById(List.of(3L, 1L, 99L))).willReturn(List.of(employee, employee3));
+        //when - action or behaviour that we are going to test
+        EmployeeBatchGetResult result = employeeService.getEmployeesByIds(List.of(3L, 1L, 99L, 1L));
+        //then - verify the output
+        assertThat(result.employees()).extracting(Employee::getId).containsExactly(3L, 1L);
+        assertThat(result.missingIds()).containsExactly(99L);
+    }
+
+    //Junit test case for getEmployeesByIds method, big requests are split into several IN queries
+    @DisplayName("Junit test case for getEmployeesByIds method with many ids")
+    @Test
+    public void givenManyEmployeeIds_whenGetEmployeesByIds_thenQueryInChunks(){
+        //given - precondition or setup
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 1500; id++) {
+            ids.add(id);
+        }
+        given(employeeRepository.findAllById(any())).willReturn(Collections.emptyList());
+        //when - action or behaviour that we are going to test
+        EmployeeBatchGetResult result = employeeService.getEmployeesByIds(ids);
+        //then - verify the output
+        assertThat(result.missingIds()).hasSize(1500);
+        verify(employeeRepository,times(2)).findAllById(any());
+    }
+
+    //Junit test case for getEmployeesByIds method with more ids than allowed
+    @DisplayName("Junit test case for getEmployeesByIds method with too many ids")
+    @Test
+    public void givenTooManyEmployeeIds_whenGetEmployeesByIds_thenThrowsException(){
+        //given - precondition or setup
+        List<Long> ids = new ArrayList<>();
+        for (long id = 0; id <= EmployeeServiceImpl.MAX_BATCH_GET_IDS; id++) {
+            ids.add(id);
+        }
+        //when - action or behaviour that we are going to test
+        Assertions.assertThrows(IllegalArgumentException.class,()->{
+            employeeService.getEmployeesByIds(ids);
+        });
+        //then - verify the output
+        verify(employeeRepository,never()).findAllById(any());
+    }
+
     //Junit test case for getEmployeeById method
     @DisplayName("Junit test case for getEmployeeById method")
     @Test
@@ -126,6 +378,22 @@ public class EmployeeServiceTests {
         //then - verify the output
         assertThat(employee1).isNotNull();
     }
+    //Junit test case for getEmployeeById method, the cache fill runs in a read-write transaction so it is read from the primary
+    @DisplayName("Junit test case for getEmployeeById method loading in a read-write transaction")
+    @Test
+    public void givenTransactionManager_whenGetEmployeeById_thenLoadInReadWriteTransaction(){
+        //given - precondition or setup
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        employeeService.setTransactionManager(transactionManager);
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        //when - action or behaviour that we are going to test
+        Optional<Employee> found = employeeService.getEmployeeById(1L);
+        //then - verify the output
+        assertThat(found).contains(employee);
+        verify(transactionManager).getTransaction(argThat(definition -> !definition.isReadOnly()));
+        verify(transactionManager).commit(any());
+    }
+
     //Junit test case for updateEmployee method
     @DisplayName("Junit test case for updateEmployee method")
     @Test
@@ -147,11 +415,266 @@ public class EmployeeServiceTests {
     @Test
     public void givenEmployeeId_whenDeleteEmployeeById_thenDoNothing(){
         //given - precondition or setup
-        willDoNothing().given(employeeRepository).deleteById(1L);
+        given(employeeRepository.deleteRowById(1L)).willReturn(1);
+        //when - action or behaviour that we are going to test
+        boolean deleted = employeeService.deleteEmployeeById(1L);
+        //then - verify the output
+        assertThat(deleted).isTrue();
+        verify(employeeRepository,times(1)).deleteRowById(employee.getId());
+        verify(employeeRepository,never()).findById(anyLong());
+    }
+
+    //Junit test case for updateEmployee method with the outbox, the row is flushed first so the event has the new version
+    @DisplayName("Junit test case for updateEmployee method with change outbox")
+    @Test
+    public void givenEmployeeObjectAndOutbox_whenUpdateEmployee_thenFlushAndRecordUpdated(){
+        //given - precondition or setup
+        employeeService.setChangeOutbox(changeOutbox);
+        given(employeeRepository.save(employee)).willReturn(employee);
+        //when - action or behaviour that we are going to test
+        employeeService.updateEmployee(employee);
+        //then - verify the output
+        InOrder inOrder = inOrder(entityManager, changeOutbox);
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(changeOutbox).recordUpdated(employee);
+    }
+
+    //Junit test case for deleteEmployeeById method with the outbox, only a row that was really deleted is recorded
+    @DisplayName("Junit test case for deleteEmployeeById method with change outbox")
+    @Test
+    public void givenEmployeeIdsAndOutbox_whenDeleteEmployeeById_thenRecordOnlyDeletedRow(){
+        //given - precondition or setup
+        employeeService.setChangeOutbox(changeOutbox);
+        given(employeeRepository.deleteRowById(1L)).willReturn(1);
+        given(employeeRepository.deleteRowById(99L)).willReturn(0);
         //when - action or behaviour that we are going to test
         employeeService.deleteEmployeeById(1L);
+        employeeService.deleteEmployeeById(99L);
+        //then - verify the output
+        verify(changeOutbox,times(1)).recordDeleted(1L);
+        verify(changeOutbox,never()).recordDeleted(99L);
+    }
+
+    //Junit test case for deleteEmployeeById method with an id that doesn't exist
+    @DisplayName("Junit test case for deleteEmployeeById method with unknown id")
+    @Test
+    public void givenUnknownEmployeeId_whenDeleteEmployeeById_thenReturnFalse(){
+        //given - precondition or setup
+        given(employeeRepository.deleteRowById(99L)).willReturn(0);
+        //when - action or behaviour that we are going to test
+        boolean deleted = employeeService.deleteEmployeeById(99L);
+        //then - verify the output
+        assertThat(deleted).isFalse();
+    }
+
+    //Junit test case for deleteEmployeesByIds method, duplicates are dropped and big requests are chunked
+    @DisplayName("Junit test case for deleteEmployeesByIds method")
+    @Test
+    public void givenManyEmployeeIds_whenDeleteEmployeesByIds_thenDeleteInChunks(){
+        //given - precondition or setup
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 1500; id++) {
+            ids.add(id);
+        }
+        ids.add(1L);
+        given(employeeRepository.deleteRowsByIdIn(any())).willAnswer(invocation -> ((Collection<?>) invocation.getArgument(0)).size());
+        //when - action or behaviour that we are going to test
+        int deleted = employeeService.deleteEmployeesByIds(ids);
+        //then - verify the output
+        assertThat(deleted).isEqualTo(1500);
+        verify(employeeRepository,times(2)).deleteRowsByIdIn(any());
+    }
+
+    //Junit test case for getEmployeesPage method, full page returns a cursor for the next page
+    @DisplayName("Junit test case for getEmployeesPage method")
+    @Test
+    public void givenFullPage_whenGetEmployeesPage_thenReturnNextCursor(){
+        //given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .id(2L)
+                .firstName("Avishkar")
+                .lastName("Singh")
+                .email("avishkar@gmail.com")
+                .build();
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 2)))
+                .willReturn(List.of(employee,employee1));
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(2L, PageRequest.of(0, 2)))
+                .willReturn(Collections.emptyList());
+        //when - action or behaviour that we are going to test
+        EmployeePage firstPage = employeeService.getEmployeesPage(null, 2);
+        EmployeePage secondPage = employeeService.getEmployeesPage(firstPage.nextCursor(), 2);
+        //then - verify the output
+        assertThat(firstPage.content()).hasSize(2);
+        assertThat(firstPage.nextCursor()).isNotNull();
+        assertThat(secondPage.content()).isEmpty();
+        assertThat(secondPage.nextCursor()).isNull();
+    }
+
+    //Junit test case for getEmployeesPage method, page size is capped
+    @DisplayName("Junit test case for getEmployeesPage method with size above the cap")
+    @Test
+    public void givenHugePageSize_whenGetEmployeesPage_thenCapPageSize(){
+        //given - precondition or setup
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, EmployeeServiceImpl.MAX_PAGE_SIZE)))
+                .willReturn(List.of(employee));
+        //when - action or behaviour that we are going to test
+        EmployeePage page = employeeService.getEmployeesPage("", 1_000_000);
+        //then - verify the output
+        assertThat(page.content()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    //Junit test case for getEmployeesPage method with a cursor that wasn't issued by us
+    @DisplayName("Junit test case for getEmployeesPage method with invalid cursor")
+    @Test
+    public void givenInvalidCursor_whenGetEmployeesPage_thenThrowsException(){
+        //when - action or behaviour that we are going to test
+        Assertions.assertThrows(IllegalArgumentException.class,()->{
+            employeeService.getEmployeesPage("not-a-cursor", 10);
+        });
+        //then - verify the output
+        verify(employeeRepository,never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+    }
+
+    //Junit test case for patchEmployee method, one update statement and no read of the row
+    @DisplayName("Junit test case for patchEmployee method")
+    @Test
+    public void givenEmployeePatch_whenPatchEmployee_thenUpdateWithoutSelect(){
+        //given - precondition or setup
+        EmployeePatch patch = new EmployeePatch("Ravi", null, null, null);
+        given(employeeRepository.patchEmployee(1L, "Ravi", null, null, null)).willReturn(1);
+        //when - action or behaviour that we are going to test
+        boolean patched = employeeService.patchEmployee(1L, patch);
+        //then - verify the output
+        assertThat(patched).isTrue();
+        verify(employeeRepository,never()).findById(anyLong());
+        verify(employeeRepository,never()).existsById(anyLong());
+    }
+
+    //Junit test case for patchEmployee method when no row has the given id
+    @DisplayName("Junit test case for patchEmployee method with unknown id")
+    @Test
+    public void givenUnknownId_whenPatchEmployee_thenReturnFalse(){
+        //given - precondition or setup
+        given(employeeRepository.patchEmployee(99L, "Ravi", null, null, 3L)).willReturn(0);
+        given(employeeRepository.existsById(99L)).willReturn(false);
+        //when - action or behaviour that we are going to test
+        boolean patched = employeeService.patchEmployee(99L, new EmployeePatch("Ravi", null, null, 3L));
+        //then - verify the output
+        assertThat(patched).isFalse();
+    }
+
+    //Junit test case for patchEmployee method when the row was changed since the client read it
+    @DisplayName("Junit test case for patchEmployee method with stale version")
+    @Test
+    public void givenStaleVersion_whenPatchEmployee_thenThrowsException(){
+        //given - precondition or setup
+        given(employeeRepository.patchEmployee(1L, "Ravi", null, null, 3L)).willReturn(0);
+        given(employeeRepository.existsById(1L)).willReturn(true);
+        //when - action or behaviour that we are going to test
+        //then - verify the output
+        Assertions.assertThrows(ObjectOptimisticLockingFailureException.class,()->{
+            employeeService.patchEmployee(1L, new EmployeePatch("Ravi", null, null, 3L));
+        });
+    }
+
+    //Junit test case for streamAllEmployees method
+    @DisplayName("Junit test case for streamAllEmployees method")
+    @Test
+    public void givenEmployees_whenStreamAllEmployees_thenConsumeAndDetachEachRow(){
+        //given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .id(2L)
+                .firstName("Avishkar")
+                .lastName("Singh")
+                .email("avishkar@gmail.com")
+                .build();
+        given(employeeRepository.streamAll()).willReturn(Stream.of(employee,employee1));
+        List<Employee> streamed = new ArrayList<>();
+        //when - action or behaviour that we are going to test
+        employeeService.streamAllEmployees(streamed::add);
+        //then - verify the output
+        assertThat(streamed).containsExactly(employee,employee1);
+        verify(entityManager,times(1)).detach(employee);
+        verify(entityManager,times(1)).detach(employee1);
+    }
+
+    //Junit test case for getEmployeesByName method, a shared name pages through every match instead of failing
+    @DisplayName("Junit test case for getEmployeesByName method")
+    @Test
+    public void givenEmployeesSharingName_whenGetEmployeesByName_thenPageThroughAllMatches(){
+        //given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .id(2L)
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email("rakesh2@gmail.com")
+                .build();
+        given(employeeRepository.findByFirstNameAndLastNameAndIdGreaterThanOrderByIdAsc(employee.getFirstName(), employee.getLastName(), 0L, PageRequest.of(0, 2)))
+                .willReturn(List.of(employee,employee1));
+        given(employeeRepository.findByFirstNameAndLastNameAndIdGreaterThanOrderByIdAsc(employee.getFirstName(), employee.getLastName(), 2L, PageRequest.of(0, 2)))
+                .willReturn(Collections.emptyList());
+        //when - action or behaviour that we are going to test
+        EmployeePage firstPage = employeeService.getEmployeesByName(employee.getFirstName(), employee.getLastName(), null, 2);
+        EmployeePage secondPage = employeeService.getEmployeesByName(employee.getFirstName(), employee.getLastName(), firstPage.nextCursor(), 2);
+        //then - verify the output
+        assertThat(firstPage.content()).containsExactly(employee,employee1);
+        assertThat(secondPage.content()).isEmpty();
+        assertThat(secondPage.nextCursor()).isNull();
+    }
+
+    //Junit test case for saveAllEmployees method, duplicates against the db and inside the request are reported per row
+    @DisplayName("Junit test case for saveAllEmployees method")
+    @Test
+    public void givenEmployeesWithDuplicates_whenSaveAllEmployees_thenReturnPerRowResults(){
+        //given - precondition or setup
+        Employee newEmployee = Employee.builder()
+                .firstName("Avishkar")
+                .lastName("Singh")
+                .email("avishkar@gmail.com")
+                .build();
+        Employee sameEmailAgain = Employee.builder()
+                .firstName("Avi")
+                .lastName("Singh")
+                .email("AVISHKAR@gmail.com")
+                .build();
+        Employee noEmail = Employee.builder()
+                .firstName("Ram")
+                .lastName("Jadhav")
+                .build();
+        given(employeeRepository.findExistingEmails(Set.of(employee.getEmail(), newEmployee.getEmail(), sameEmailAgain.getEmail())))
+                .willReturn(Set.of(employee.getEmail()));
+        given(employeeRepository.saveAll(List.of(newEmployee))).willAnswer(invocation -> {
+            newEmployee.setId(7L);      //hibernate assigns the sequence id on persist
+            return List.of(newEmployee);
+        });
+        //when - action or behaviour that we are going to test
+        List<EmployeeBulkResult> results = employeeService.saveAllEmployees(List.of(employee, newEmployee, sameEmailAgain, noEmail).iterator());
+        //then - verify the output
+        assertThat(results).extracting(EmployeeBulkResult::status).containsExactly(
+                EmployeeBulkResult.Status.DUPLICATE,
+                EmployeeBulkResult.Status.CREATED,
+                EmployeeBulkResult.Status.DUPLICATE,
+                EmployeeBulkResult.Status.INVALID);
+        assertThat(results).extracting(EmployeeBulkResult::index).containsExactly(0, 1, 2, 3);
+        assertThat(results.get(1).id()).isEqualTo(7L);
+        verify(employeeRepository,never()).findByEmail(any());      //no per row round trips
+        verify(entityManager,times(1)).flush();
+        verify(entityManager,times(1)).clear();
+    }
+
+    //Junit test case for saveAllEmployees method with the known email filter, emails written by other instances are still found
+    @DisplayName("Junit test case for saveAllEmployees method with known email filter")
+    @Test
+    public void givenEmailFilter_whenSaveAllEmployees_thenCheckEveryEmailAgainstDb(){
+        //given - precondition or setup
+        employeeService.setKnownEmailFilter(knownEmailFilter);      //another instance inserted the email, this filter has never seen it
+        given(employeeRepository.findExistingEmails(Set.of(employee.getEmail()))).willReturn(Set.of(employee.getEmail()));
+        //when - action or behaviour that we are going to test
+        List<EmployeeBulkResult> results = employeeService.saveAllEmployees(List.of(employee).iterator());
         //then - verify the output
-        verify(employeeRepository,times(1)).deleteById(employee.getId());
+        assertThat(results).extracting(EmployeeBulkResult::status).containsExactly(EmployeeBulkResult.Status.DUPLICATE);
+        verify(knownEmailFilter,never()).mightContain(any());
     }
 
 }
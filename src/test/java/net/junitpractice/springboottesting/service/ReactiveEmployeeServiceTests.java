@@ -0,0 +1,140 @@
+package net.junitpractice.springboottesting.service;
+
+import net.junitpractice.springboottesting.dto.EmployeePage;
+import net.junitpractice.springboottesting.model.Employee;
+import net.junitpractice.springboottesting.model.EmployeeRow;
+import net.junitpractice.springboottesting.repository.ReactiveEmployeeRepository;
+import net.junitpractice.springboottesting.service.impl.EmployeeServiceImpl;
+import net.junitpractice.springboottesting.service.impl.ReactiveEmployeeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveEmployeeServiceTests {
+
+    @Mock
+    private ReactiveEmployeeRepository employeeRepository;
+    @InjectMocks
+    private ReactiveEmployeeServiceImpl employeeService;
+
+    private EmployeeRow employeeRow;
+
+    @BeforeEach
+    public void setup(){
+        employeeRow = new EmployeeRow(1L, "Rakesh", "Mall", "rakesh@gmail.com", 2L);
+    }
+
+    //Junit test case for getEmployeeById method, the row is mapped to the same Employee the blocking api returns
+    @DisplayName("Junit test case for reactive getEmployeeById method")
+    @Test
+    public void givenEmployeeId_whenGetEmployeeById_thenEmitEmployee(){
+        //given - precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Mono.just(employeeRow));
+        //when - action or behaviour that we are going to test
+        Mono<Employee> employee = employeeService.getEmployeeById(1L);
+        //then - verify the output
+        StepVerifier.create(employee)
+                .assertNext(found -> {
+                    assertThat(found.getEmail()).isEqualTo("rakesh@gmail.com");
+                    assertThat(found.getVersion()).isEqualTo(2L);
+                })
+                .verifyComplete();
+    }
+
+    //Junit test case for getEmployeeById method with an id that doesn't exist
+    @DisplayName("Junit test case for reactive getEmployeeById method with unknown id")
+    @Test
+    public void givenUnknownEmployeeId_whenGetEmployeeById_thenEmitNothing(){
+        //given - precondition or setup
+        given(employeeRepository.findById(99L)).willReturn(Mono.empty());
+        //when - action or behaviour that we are going to test
+        //then - verify the output
+        StepVerifier.create(employeeService.getEmployeeById(99L)).verifyComplete();
+    }
+
+    //Junit test case for getAllEmployees method, rows are only pulled as the subscriber asks for them
+    @DisplayName("Junit test case for reactive getAllEmployees method with backpressure")
+    @Test
+    public void givenEmployeeRows_whenGetAllEmployeesWithSmallDemand_thenEmitOnlyRequestedRows(){
+        //given - precondition or setup
+        List<EmployeeRow> rows = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            rows.add(new EmployeeRow(id, "First" + id, "Last" + id, "employee" + id + "@gmail.com", 0L));
+        }
+        given(employeeRepository.streamAll()).willReturn(Flux.fromIterable(rows));
+        //when - action or behaviour that we are going to test
+        //then - verify the output
+        StepVerifier.create(employeeService.getAllEmployees(), 2)
+                .expectNextCount(2)
+                .thenRequest(8)
+                .expectNextCount(8)
+                .verifyComplete();
+    }
+
+    //Junit test case for getEmployeesByIds method, results follow the request order and unknown ids are reported like the blocking api
+    @DisplayName("Junit test case for reactive getEmployeesByIds method")
+    @Test
+    public void givenEmployeeIds_whenGetEmployeesByIds_thenReturnInRequestOrderWithMissingIds(){
+        //given - precondition or setup
+        EmployeeRow otherRow = new EmployeeRow(3L, "Keshav", "Dhami", "keshav@gmail.com", 0L);
+        given(employeeRepository.findAllById(List.of(3L, 1L, 99L))).willReturn(Flux.just(employeeRow, otherRow));
+        //when - action or behaviour that we are going to test
+        //then - verify the output
+        StepVerifier.create(employeeService.getEmployeesByIds(List.of(3L, 1L, 99L, 1L)))
+                .assertNext(result -> {
+                    assertThat(result.employees()).extracting(Employee::getId).containsExactly(3L, 1L);
+                    assertThat(result.missingIds()).containsExactly(99L);
+                })
+                .verifyComplete();
+    }
+
+    //Junit test case for getEmployeesByIds method with too many ids
+    @DisplayName("Junit test case for reactive getEmployeesByIds method with too many ids")
+    @Test
+    public void givenTooManyEmployeeIds_whenGetEmployeesByIds_thenEmitError(){
+        //given - precondition or setup
+        List<Long> ids = new ArrayList<>();
+        for (long id = 0; id <= EmployeeServiceImpl.MAX_BATCH_GET_IDS; id++) {
+            ids.add(id);
+        }
+        //when - action or behaviour that we are going to test
+        //then - verify the output
+        StepVerifier.create(employeeService.getEmployeesByIds(ids))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        verify(employeeRepository,never()).findAllById(any(Iterable.class));
+    }
+
+    //Junit test case for getEmployeesPage method, a full page hands out the last id as the next cursor
+    @DisplayName("Junit test case for reactive getEmployeesPage method")
+    @Test
+    public void givenFullPage_whenGetEmployeesPage_thenReturnNextCursor(){
+        //given - precondition or setup
+        given(employeeRepository.findPageAfter(0L, 1)).willReturn(Flux.just(employeeRow));
+        given(employeeRepository.findPageAfter(1L, 1)).willReturn(Flux.empty());
+        //when - action or behaviour that we are going to test
+        EmployeePage firstPage = employeeService.getEmployeesPage(null, 1).block();
+        EmployeePage lastPage = employeeService.getEmployeesPage(firstPage.nextCursor(), 1).block();
+        //then - verify the output
+        assertThat(firstPage.content()).extracting(Employee::getId).containsExactly(1L);
+        assertThat(lastPage.content()).isEmpty();
+        assertThat(lastPage.nextCursor()).isNull();
+    }
+}
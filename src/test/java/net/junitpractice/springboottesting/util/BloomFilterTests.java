@@ -0,0 +1,55 @@
+package net.junitpractice.springboottesting.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BloomFilterTests {
+
+    //Junit test case for mightContain, anything that was put must always be found
+    @DisplayName("Junit test case for bloom filter without false negatives")
+    @Test
+    public void givenPutValues_whenMightContain_thenAlwaysTrue(){
+        //given - precondition or setup
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("employee" + i + "@gmail.com");
+        }
+        //when - action or behaviour that we are going to test
+        //then - verify the output
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("employee" + i + "@gmail.com")).isTrue();
+        }
+    }
+
+    //Junit test case for mightContain, values never put are mostly reported as absent
+    @DisplayName("Junit test case for bloom filter false positive rate")
+    @Test
+    public void givenNewValues_whenMightContain_thenFalsePositiveRateNearConfigured(){
+        //given - precondition or setup
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("employee" + i + "@gmail.com");
+        }
+        //when - action or behaviour that we are going to test
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("new" + i + "@outlook.com")) {
+                falsePositives++;
+            }
+        }
+        //then - verify the output
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    //Junit test case for the constructor with invalid sizing
+    @DisplayName("Junit test case for bloom filter with invalid sizing")
+    @Test
+    public void givenInvalidFalsePositiveRate_whenCreate_thenThrowsException(){
+        Assertions.assertThrows(IllegalArgumentException.class,()->{
+            new BloomFilter(100, 1.5);
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package net.junitpractice.springboottesting.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrefixIndexTests {
+
+    //Junit test case for search, only ids with a term starting with the prefix come back, exact term first
+    @DisplayName("Junit test case for prefix index search")
+    @Test
+    public void givenIndexedTerms_whenSearch_thenReturnMatchingIdsInTermOrder(){
+        //given - precondition or setup
+        PrefixIndex index = new PrefixIndex();
+        index.put(1L, List.of("annabel", "smith"));
+        index.put(2L, List.of("ann", "lee"));
+        index.put(3L, List.of("bob", "annan"));
+        //when - action or behaviour that we are going to test
+        List<Long> ids = index.search("ann", 10);
+        //then - verify the output
+        assertThat(ids).containsExactly(2L, 1L, 3L);
+        assertThat(index.search("b", 10)).containsExactly(3L);
+        assertThat(index.search("z", 10)).isEmpty();
+    }
+
+    //Junit test case for search with a limit, scanning stops once enough distinct ids are found
+    @DisplayName("Junit test case for prefix index search with limit")
+    @Test
+    public void givenManyMatches_whenSearchWithLimit_thenReturnAtMostLimitDistinctIds(){
+        //given - precondition or setup
+        PrefixIndex index = new PrefixIndex();
+        for (long id = 1; id <= 100; id++) {
+            index.put(id, List.of("employee" + id, "employee" + id + "@gmail.com"));
+        }
+        //when - action or behaviour that we are going to test
+        List<Long> ids = index.search("employee", 5);
+        //then - verify the output
+        assertThat(ids).hasSize(5).doesNotHaveDuplicates();
+    }
+
+    //Junit test case for put and remove, old terms of an id stop matching
+    @DisplayName("Junit test case for prefix index update and remove")
+    @Test
+    public void givenReindexedAndRemovedIds_whenSearch_thenOldTermsDontMatch(){
+        //given - precondition or setup
+        PrefixIndex index = new PrefixIndex();
+        index.put(1L, List.of("rakesh"));
+        index.put(2L, List.of("rahul"));
+        //when - action or behaviour that we are going to test
+        index.put(1L, List.of("mall"));
+        index.remove(2L);
+        //then - verify the output
+        assertThat(index.search("ra", 10)).isEmpty();
+        assertThat(index.search("ma", 10)).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,127 @@
+package net.junitpractice.springboottesting.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SingleFlightTests {
+
+    //Junit test case for execute, concurrent callers of the same key share one load
+    @DisplayName("Junit test case for single flight coalescing concurrent loads")
+    @Test
+    public void givenConcurrentCallsForSameKey_whenExecute_thenLoadOnce() throws Exception{
+        //given - precondition or setup
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+                loads.incrementAndGet();
+                loadStarted.countDown();
+                await(releaseLoad);
+                return "employee1";
+            }, Duration.ofSeconds(5)));
+            loadStarted.await(5, TimeUnit.SECONDS);
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                followers.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                    loads.incrementAndGet();
+                    return "other";
+                }, Duration.ofSeconds(5))));
+            }
+            //when - action or behaviour that we are going to test
+            while (singleFlight.coalescedCount() < 7) {
+                Thread.onSpinWait();
+            }
+            releaseLoad.countDown();
+            //then - verify the output
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("employee1");
+            for (Future<String> follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("employee1");
+            }
+            assertThat(loads.get()).isEqualTo(1);
+            assertThat(singleFlight.loadCount()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    //Junit test case for execute, a load that is done is not reused by the next call
+    @DisplayName("Junit test case for single flight with sequential calls")
+    @Test
+    public void givenSequentialCalls_whenExecute_thenLoadEveryTime() throws Exception{
+        //given - precondition or setup
+        SingleFlight<Long, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        //when - action or behaviour that we are going to test
+        singleFlight.execute(1L, loads::incrementAndGet, Duration.ofSeconds(1));
+        int second = singleFlight.execute(1L, loads::incrementAndGet, Duration.ofSeconds(1));
+        //then - verify the output
+        assertThat(second).isEqualTo(2);
+        assertThat(singleFlight.coalescedCount()).isZero();
+    }
+
+    //Junit test case for execute, a waiter gives up after the timeout
+    @DisplayName("Junit test case for single flight timeout")
+    @Test
+    public void givenSlowLoad_whenExecuteWithShortTimeout_thenThrowsTimeoutException() throws Exception{
+        //given - precondition or setup
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+                loadStarted.countDown();
+                await(releaseLoad);
+                return "employee1";
+            }, Duration.ofSeconds(5)));
+            loadStarted.await(5, TimeUnit.SECONDS);
+            //when - action or behaviour that we are going to test
+            Assertions.assertThrows(TimeoutException.class,()->{
+                singleFlight.execute(1L, () -> "other", Duration.ofMillis(50));
+            });
+            //then - verify the output
+            assertThat(singleFlight.timeoutCount()).isEqualTo(1);
+            releaseLoad.countDown();
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("employee1");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    //Junit test case for execute, a failed load fails every waiter with the same exception
+    @DisplayName("Junit test case for single flight failed load")
+    @Test
+    public void givenFailingLoad_whenExecute_thenThrowsLoaderException(){
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+        Assertions.assertThrows(IllegalStateException.class,()->{
+            singleFlight.execute(1L, () -> {
+                throw new IllegalStateException("db down");
+            }, Duration.ofSeconds(1));
+        });
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+-- shared fixture for the integration tests, applied once per database by flyway and again only when this file changes
+-- ids 1..1000 (AbstractContainerBaseTest.SEED_ROWS), generated in one insert ... select instead of a save() per row
+delete from employees where id <= 1000;
+
+insert into employees (id, first_name, last_name, email, version)
+with recursive seq (n) as (
+    select 1
+    union all
+    select n + 1 from seq where n < 1000
+)
+select n, concat('First', n), concat('Last', n), concat('seed', n, '@gmail.com'), 0 from seq;
+
+-- move the hibernate sequence past the seeded ids
+update employees_seq set next_val = greatest(next_val, 2001);